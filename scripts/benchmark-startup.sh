@@ -0,0 +1,54 @@
+#!/bin/bash
+# Compares the startup time of the standard image (plain jar) with the default fast-startup image
+# (AOT-processed context, AppCDS archive, prod profile): time from `docker run` until /actuator/health
+# answers, and the JVM's own "process running for" when it logs that it started.
+#
+# Needs Docker and a running PostgreSQL on localhost:5432 (docker-compose up -d postgres).
+# Usage: ./scripts/benchmark-startup.sh [runs]
+set -e
+
+RUNS=${1:-5}
+PORT=${PORT:-8090}
+WORK_DIR=$(mktemp -d)
+trap 'docker rm -f "$CONTAINER" > /dev/null 2>&1 || true; rm -rf "$WORK_DIR"' EXIT
+
+docker build -q --target standard -t fx-deals-app:standard . > /dev/null
+docker build -q -t fx-deals-app:fast . > /dev/null
+
+run_image() {
+    local mode=$1 image=$2 profiles=$3
+
+    for ((i = 0; i < RUNS; i++)); do
+        local start ready started
+        start=$(date +%s.%N)
+        CONTAINER=$(docker run -d --network host \
+            -e SPRING_PROFILES_ACTIVE="$profiles" \
+            -e SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/fxdeals \
+            -e SERVER_PORT="$PORT" "$image")
+        until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+            if [ "$(docker inspect -f '{{.State.Running}}' "$CONTAINER")" != true ]; then
+                docker logs "$CONTAINER"
+                exit 1
+            fi
+            sleep 0.1
+        done
+        ready=$(date +%s.%N)
+        started=$(docker logs "$CONTAINER" 2>&1 | sed -n 's/.*process running for \([0-9.]*\)).*/\1/p')
+        docker rm -f "$CONTAINER" > /dev/null
+        echo "$start $ready $started" >> "$WORK_DIR/$mode.times"
+    done
+
+    awk '{ print $2 - $1 }' "$WORK_DIR/$mode.times" | sort -n > "$WORK_DIR/$mode.ready"
+    awk '{ print $3 }' "$WORK_DIR/$mode.times" | sort -n > "$WORK_DIR/$mode.jvm"
+    printf "%-9s runs=%d ready p50=%.2fs min=%.2fs max=%.2fs jvm-started p50=%.2fs\n" "$mode" "$RUNS" \
+        "$(median "$WORK_DIR/$mode.ready")" "$(head -1 "$WORK_DIR/$mode.ready")" "$(tail -1 "$WORK_DIR/$mode.ready")" \
+        "$(median "$WORK_DIR/$mode.jvm")"
+}
+
+median() {
+    awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }' "$1"
+}
+
+echo "Runs per image: $RUNS"
+run_image standard fx-deals-app:standard docker
+run_image fast fx-deals-app:fast docker,prod
@@ -0,0 +1,68 @@
+#!/bin/bash
+# Compares concurrent import throughput of the platform-thread setup against the
+# virtual-thread mode (Spring profile "virtual").
+#
+# Needs a running PostgreSQL (docker-compose up -d postgres) and a packaged jar (mvn package -DskipTests).
+# Usage: ./scripts/benchmark-threads.sh [concurrency] [requests] [deals-per-request]
+set -e
+
+CONCURRENCY=${1:-200}
+REQUESTS=${2:-1000}
+DEALS_PER_REQUEST=${3:-50}
+PORT=${PORT:-8090}
+JAR=$(ls target/*.jar | grep -v original | head -1)
+WORK_DIR=$(mktemp -d)
+trap 'kill $APP_PID 2>/dev/null || true; rm -rf "$WORK_DIR"' EXIT
+
+generate_payloads() {
+    local prefix=$1
+    for ((r = 0; r < REQUESTS; r++)); do
+        {
+            printf '['
+            for ((d = 0; d < DEALS_PER_REQUEST; d++)); do
+                [ "$d" -gt 0 ] && printf ','
+                printf '{"dealUniqueId":"%s-%d-%d","fromCurrencyIsoCode":"USD","toCurrencyIsoCode":"EUR",' "$prefix" "$r" "$d"
+                printf '"dealTimestamp":"2025-08-04T01:00:00Z","dealAmountInOrderingCurrency":1000.50}'
+            done
+            printf ']'
+        } > "$WORK_DIR/$prefix-$r.json"
+    done
+}
+
+run_mode() {
+    local mode=$1 profiles=$2
+    local prefix="BENCH-$mode-$(date +%s)"
+
+    # admission control off: all requests come from this one host
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" --fxdeals.admission.enabled=false \
+        --spring.jpa.show-sql=false --logging.level.root=WARN > "$WORK_DIR/$mode.log" 2>&1 &
+    APP_PID=$!
+    until curl -s -o /dev/null -X POST "http://localhost:$PORT/api/deals/import" \
+            -H "Content-Type: application/json" -d '[]'; do
+        sleep 1
+    done
+
+    generate_payloads "$prefix"
+    local start end
+    start=$(date +%s.%N)
+    ls "$WORK_DIR"/"$prefix"-*.json | xargs -P "$CONCURRENCY" -I{} \
+        curl -s -o /dev/null -w '%{time_total}\n' -X POST "http://localhost:$PORT/api/deals/import" \
+            -H "Content-Type: application/json" --data-binary @{} > "$WORK_DIR/$mode.times"
+    end=$(date +%s.%N)
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+
+    sort -n "$WORK_DIR/$mode.times" | awk -v mode="$mode" -v start="$start" -v end="$end" -v deals="$DEALS_PER_REQUEST" '
+        { t[NR] = $1 }
+        END {
+            elapsed = end - start
+            printf "%-9s requests=%d elapsed=%.2fs req/s=%.1f deals/s=%.0f p50=%.0fms p99=%.0fms max=%.0fms\n",
+                mode, NR, elapsed, NR / elapsed, NR * deals / elapsed,
+                t[int(NR * 0.50) + 1] * 1000, t[int(NR * 0.99) + 1] * 1000, t[NR] * 1000
+        }'
+}
+
+echo "Concurrency: $CONCURRENCY | Requests: $REQUESTS | Deals per request: $DEALS_PER_REQUEST"
+run_mode platform default
+run_mode virtual virtual
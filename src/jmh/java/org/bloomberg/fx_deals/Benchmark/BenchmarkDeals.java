@@ -0,0 +1,48 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic deal payloads shared by the benchmarks, so runs on different machines
+ * measure the same input.
+ */
+final class BenchmarkDeals {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "MAD"};
+    private static final long BASE_EPOCH_SECOND = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond();
+
+    private BenchmarkDeals() {
+    }
+
+    static List<DealDto> validDeals(int count) {
+        Random random = new Random(42);
+        List<DealDto> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String from = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            String to = CURRENCIES[(random.nextInt(CURRENCIES.length - 1) + 1 + indexOf(from)) % CURRENCIES.length];
+            deals.add(DealDto.builder()
+                    .dealUniqueId("DEAL-" + i)
+                    .fromCurrencyIsoCode(from)
+                    .toCurrencyIsoCode(to)
+                    .dealTimestamp(Instant.ofEpochSecond(BASE_EPOCH_SECOND + random.nextInt(31_536_000)).toString())
+                    .dealAmountInOrderingCurrency(BigDecimal.valueOf(random.nextInt(100_000_000) + 1, 2))
+                    .build());
+        }
+        return deals;
+    }
+
+    private static int indexOf(String currency) {
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            if (CURRENCIES[i].equals(currency)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(currency);
+    }
+}
@@ -0,0 +1,59 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Helpers.ControllerHelper;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import response assembly as done by {@code DealController}: the {@link ControllerHelper}
+ * notification, the body from {@link ControllerHelper#buildImportBody} and the JSON written back to the client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerHelperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private final ControllerHelper controllerHelper = new ControllerHelper();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ImportResultDto result;
+
+    @Setup
+    public void setUp() {
+        List<String> successfulDeals = new ArrayList<>();
+        List<String> failedDeals = new ArrayList<>();
+        List<String> duplicateDeals = new ArrayList<>();
+        // 80% stored, 10% failed, 10% duplicates
+        for (int i = 0; i < batchSize; i++) {
+            String id = "DEAL-" + i;
+            switch (i % 10) {
+                case 8 -> failedDeals.add(id);
+                case 9 -> duplicateDeals.add(id);
+                default -> successfulDeals.add(id);
+            }
+        }
+        result = new ImportResultDto(successfulDeals, failedDeals, duplicateDeals);
+    }
+
+    @Benchmark
+    public String userNotification() {
+        return controllerHelper.getUserNotification(result.getSuccessfulDeals().size(), result.getFailedDeals().size(),
+                result.getDuplicateDeals().size());
+    }
+
+    @Benchmark
+    public byte[] importResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(controllerHelper.buildImportBody(result));
+    }
+}
@@ -0,0 +1,42 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson binding of an import request body into {@code List<DealDto>}, as done by
+ * {@code @RequestBody} on {@code POST /api/deals/import}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealDeserializationBenchmark {
+
+    private static final TypeReference<List<DealDto>> DEAL_LIST = new TypeReference<>() {
+    };
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = objectMapper.writeValueAsBytes(BenchmarkDeals.validDeals(batchSize));
+    }
+
+    @Benchmark
+    public List<DealDto> readDealList() throws IOException {
+        return objectMapper.readValue(payload, DEAL_LIST);
+    }
+}
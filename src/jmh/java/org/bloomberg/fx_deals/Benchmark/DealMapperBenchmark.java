@@ -0,0 +1,53 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Mapper.DealMapper;
+import org.bloomberg.fx_deals.Mapper.DealMapperImpl;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DealMapper#toEntity} over a batch, once with raw DTOs (timestamp parsed by the
+ * mapper) and once with DTOs that went through {@link DealDtoValidator} first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealMapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private final DealMapper dealMapper = new DealMapperImpl();
+    private List<DealDto> rawDeals;
+    private List<DealDto> validatedDeals;
+
+    @Setup
+    public void setUp() {
+        rawDeals = BenchmarkDeals.validDeals(batchSize);
+        validatedDeals = BenchmarkDeals.validDeals(batchSize);
+        DealDtoValidator validator = new DealDtoValidator();
+        validatedDeals.forEach(validator::validate);
+    }
+
+    @Benchmark
+    public void toEntityParsingTimestamp(Blackhole blackhole) {
+        for (DealDto deal : rawDeals) {
+            blackhole.consume(dealMapper.toEntity(deal));
+        }
+    }
+
+    @Benchmark
+    public void toEntityAfterValidation(Blackhole blackhole) {
+        for (DealDto deal : validatedDeals) {
+            blackhole.consume(dealMapper.toEntity(deal));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.bloomberg.fx_deals.Aspect.DealSaveAspect;
+import org.bloomberg.fx_deals.Corevalidation.DealCoreValidation;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate filtering done by {@link DealSaveAspect} around {@code DealService.saveAll},
+ * with the database lookup replaced by an in-memory set so only the filtering is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealSaveAspectBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    // share of the batch that is already stored
+    @Param({"0.0", "0.1", "0.5"})
+    public double duplicateRatio;
+
+    private DealSaveAspect dealSaveAspect;
+    private ProceedingJoinPoint joinPoint;
+    private List<DealDto> deals;
+
+    @Setup
+    public void setUp() {
+        deals = BenchmarkDeals.validDeals(batchSize);
+        Set<String> storedIds = new HashSet<>();
+        for (int i = 0; i < (int) (batchSize * duplicateRatio); i++) {
+            storedIds.add(deals.get(i).getDealUniqueId());
+        }
+
+        dealSaveAspect = new DealSaveAspect(new DealCoreValidation(null, null, null) {
+            @Override
+            public Set<String> findExistingDealIds(Collection<String> dealUniqueIds) {
+                Set<String> existing = new HashSet<>();
+                for (String id : dealUniqueIds) {
+                    if (storedIds.contains(id)) {
+                        existing.add(id);
+                    }
+                }
+                return existing;
+            }
+        }, new ImportMetrics(new SimpleMeterRegistry()));
+
+        ImportResultDto saved = new ImportResultDto(List.of(), List.of());
+        joinPoint = (ProceedingJoinPoint) Proxy.newProxyInstance(
+                ProceedingJoinPoint.class.getClassLoader(),
+                new Class<?>[]{ProceedingJoinPoint.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("proceed")) {
+                        return saved;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public Object filterDuplicates() throws Throwable {
+        return dealSaveAspect.filterDuplicatesBeforeSave(joinPoint, deals);
+    }
+}
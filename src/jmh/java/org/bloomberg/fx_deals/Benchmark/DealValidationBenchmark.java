@@ -0,0 +1,66 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-batch cost of validating deals: the annotation-driven Bean Validation path
+ * (including {@code VerifyInstantFormatValidator}) against {@link DealDtoValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DealValidationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int batchSize;
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+    private final DealDtoValidator dealDtoValidator = new DealDtoValidator();
+    private List<DealDto> deals;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+        deals = BenchmarkDeals.validDeals(batchSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void beanValidation(Blackhole blackhole) {
+        for (DealDto deal : deals) {
+            blackhole.consume(beanValidator.validate(deal));
+        }
+    }
+
+    @Benchmark
+    public void dealDtoValidator(Blackhole blackhole) {
+        for (DealDto deal : deals) {
+            blackhole.consume(dealDtoValidator.validate(deal));
+        }
+    }
+
+    @Benchmark
+    public void instantFormatOnly(Blackhole blackhole) {
+        for (DealDto deal : deals) {
+            blackhole.consume(DealDtoValidator.isInstantFormat(deal.getDealTimestamp()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import org.bloomberg.fx_deals.Exceptions.GlobalHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the grouped validation response of {@link GlobalHandler#handleValidationExceptions}
+ * for a rejected batch with thousands of field errors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalHandlerBenchmark {
+
+    private static final String[][] FIELD_ERRORS = {
+            {"dealUniqueId", "Deal Unique Id is required"},
+            {"fromCurrencyIsoCode", "From Currency ISO Code must be 3 uppercase letters"},
+            {"dealTimestamp", "Deal timestamp must be ISO-8601 format like 2025-08-04T02:36:07Z"},
+            {"dealAmountInOrderingCurrency", "Deal Amount must be greater than zero"},
+    };
+
+    @Param({"1000", "5000", "20000"})
+    public int errorCount;
+
+    private final GlobalHandler globalHandler = new GlobalHandler();
+    private MethodArgumentNotValidException exception;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new ArrayList<>(), "dealDtos");
+        for (int i = 0; i < errorCount; i++) {
+            String[] error = FIELD_ERRORS[i % FIELD_ERRORS.length];
+            bindingResult.addError(new FieldError("dealDtos",
+                    "dealDtos[" + (i / FIELD_ERRORS.length) + "]." + error[0], error[1]));
+        }
+        MethodParameter parameter = new MethodParameter(
+                GlobalHandlerBenchmark.class.getDeclaredMethod("requestBody", List.class), 0);
+        exception = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleValidationExceptions() {
+        return globalHandler.handleValidationExceptions(exception);
+    }
+
+    @SuppressWarnings("unused")
+    private void requestBody(List<Object> dealDtos) {
+    }
+}
@@ -0,0 +1,64 @@
+package org.bloomberg.fx_deals.Benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same {@code List<DealDto>} import body read and written as JSON, Smile and CBOR, with mappers
+ * configured like {@code BinaryFormatsConfig}. The payload size of each format is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportFormatBenchmark {
+
+    private static final TypeReference<List<DealDto>> DEAL_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    private ObjectMapper objectMapper;
+    private List<DealDto> deals;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> throw new IllegalArgumentException(format);
+        };
+        objectMapper = new ObjectMapper().copyWith(factory);
+        deals = BenchmarkDeals.validDeals(batchSize);
+        payload = objectMapper.writeValueAsBytes(deals);
+        System.out.printf("%n%s payload for %d deals: %d bytes (%.1f per deal)%n",
+                format, batchSize, payload.length, (double) payload.length / batchSize);
+    }
+
+    @Benchmark
+    public List<DealDto> readDealList() throws IOException {
+        return objectMapper.readValue(payload, DEAL_LIST);
+    }
+
+    @Benchmark
+    public byte[] writeDealList() throws IOException {
+        return objectMapper.writeValueAsBytes(deals);
+    }
+}
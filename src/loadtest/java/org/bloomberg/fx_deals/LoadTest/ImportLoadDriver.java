@@ -0,0 +1,146 @@
+package org.bloomberg.fx_deals.LoadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@code POST /api/deals/import} for one scenario: a fixed number of requests of
+ * {@code batchSize} deals, sent by {@code concurrency} clients in parallel. A share of every
+ * batch reuses ids stored by an untimed seed request, so the duplicate path is exercised too.
+ */
+final class ImportLoadDriver {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD"};
+    private static final Instant BASE_TIMESTAMP = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI importUri;
+
+    ImportLoadDriver(URI importUri) {
+        this.importUri = importUri;
+    }
+
+    Map<String, Object> run(String scenarioId, int concurrency, int batchSize, double duplicateRatio,
+                            int requests, int warmUpRequests) throws Exception {
+        int duplicatesPerRequest = (int) Math.round(batchSize * duplicateRatio);
+
+        // stored before the clock starts: the ids later requests duplicate
+        send(batch(scenarioId + "-seed", batchSize, 0, null));
+
+        long[] latencyNanos = new long[requests];
+        AtomicInteger nextRequest = new AtomicInteger(-warmUpRequests);
+        AtomicInteger failedRequests = new AtomicInteger();
+        AtomicLong storedDeals = new AtomicLong();
+        AtomicLong duplicateDeals = new AtomicLong();
+        AtomicInteger measuredStarted = new AtomicInteger();
+        AtomicLong measuredStartNanos = new AtomicLong();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                workers.add(clients.submit(() -> {
+                    int request;
+                    while ((request = nextRequest.getAndIncrement()) < requests) {
+                        boolean measured = request >= 0;
+                        byte[] body = batch(scenarioId + "-" + request, batchSize, duplicatesPerRequest,
+                                scenarioId + "-seed");
+                        if (measured && measuredStarted.getAndIncrement() == 0) {
+                            measuredStartNanos.set(System.nanoTime());
+                        }
+
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = send(body);
+                        long elapsed = System.nanoTime() - start;
+
+                        if (!measured) {
+                            continue;
+                        }
+                        latencyNanos[request] = elapsed;
+                        if (response.statusCode() != 200) {
+                            failedRequests.incrementAndGet();
+                            continue;
+                        }
+                        JsonNode result = objectMapper.readTree(response.body());
+                        storedDeals.addAndGet(result.path("successfulDeals").size());
+                        duplicateDeals.addAndGet(result.path("duplicateDeals").size());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - measuredStartNanos.get()) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", concurrency);
+        report.put("batchSize", batchSize);
+        report.put("duplicateRatio", duplicateRatio);
+        report.put("requests", requests);
+        report.put("failedRequests", failedRequests.get());
+        report.put("dealsSent", (long) requests * batchSize);
+        report.put("dealsStored", storedDeals.get());
+        report.put("duplicatesReported", duplicateDeals.get());
+        report.put("durationSeconds", Math.round(seconds * 1000) / 1000.0);
+        report.put("requestsPerSecond", Math.round(requests / seconds * 10) / 10.0);
+        report.put("dealsPerSecond", Math.round(requests * (double) batchSize / seconds));
+        report.put("latencyMillis", new LatencyStats(latencyNanos).toReport());
+        return report;
+    }
+
+    private HttpResponse<byte[]> send(byte[] body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(importUri)
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // the first `duplicates` deals reuse seed ids, the rest get ids unique to this request
+    private byte[] batch(String idPrefix, int batchSize, int duplicates, String seedPrefix) throws IOException {
+        List<DealDto> deals = new ArrayList<>(batchSize);
+        int offset = Math.floorMod(idPrefix.hashCode(), Math.max(batchSize, 1));
+        for (int i = 0; i < batchSize; i++) {
+            String id = i < duplicates
+                    ? seedPrefix + "-" + (offset + i) % batchSize
+                    : idPrefix + "-" + i;
+            deals.add(DealDto.builder()
+                    .dealUniqueId(id)
+                    .fromCurrencyIsoCode(CURRENCIES[i % CURRENCIES.length])
+                    .toCurrencyIsoCode(CURRENCIES[(i + 1) % CURRENCIES.length])
+                    .dealTimestamp(BASE_TIMESTAMP.plusSeconds(i).toString())
+                    .dealAmountInOrderingCurrency(BigDecimal.valueOf(100_000L + i, 2))
+                    .build());
+        }
+        return objectMapper.writeValueAsBytes(deals);
+    }
+}
@@ -0,0 +1,146 @@
+package org.bloomberg.fx_deals.LoadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.bloomberg.fx_deals.FxDealsApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots the whole application against an embedded PostgreSQL (or {@code -Dloadtest.jdbc-url})
+ * and measures import throughput and latency percentiles for every configured scenario.
+ * Only compiled and run by the {@code load-test} Maven profile.
+ */
+class ImportLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportLoadTest.class);
+
+    private static final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext application;
+    private static URI importUri;
+    private static URI prometheusUri;
+    // /actuator/prometheus needs credentials; this run's scrape key
+    private static final String metricsApiKey = UUID.randomUUID().toString();
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        String jdbcUrl = settings.jdbcUrl();
+        String username = settings.jdbcUsername();
+        String password = settings.jdbcPassword();
+        if (settings.useEmbeddedDatabase()) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            username = "postgres";
+            password = "postgres";
+        }
+
+        // command-line arguments, so they win over application.properties
+        application = new SpringApplicationBuilder(FxDealsApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                // every simulated client shares one address, so per-client rate limits would cap the scenarios
+                "--fxdeals.admission.enabled=false",
+                "--fxdeals.auth.api-keys[0].name=load-test",
+                "--fxdeals.auth.api-keys[0].sha256=" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                        .digest(metricsApiKey.getBytes(StandardCharsets.UTF_8))),
+                "--logging.level.root=WARN",
+                "--logging.level.org.bloomberg.fx_deals=WARN");
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        String mode = settings.mode().isBlank() ? "" : "?mode=" + settings.mode();
+        importUri = URI.create("http://localhost:" + port + "/api/deals/import" + mode);
+        prometheusUri = URI.create("http://localhost:" + port + "/actuator/prometheus");
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (application != null) {
+            application.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void importThroughput() throws Exception {
+        ImportLoadDriver driver = new ImportLoadDriver(importUri);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        int failedRequests = 0;
+
+        for (int concurrency : settings.concurrencies()) {
+            for (int batchSize : settings.batchSizes()) {
+                for (double duplicateRatio : settings.duplicateRatios()) {
+                    String scenarioId = runId + "-c" + concurrency + "-b" + batchSize + "-d" + duplicateRatio;
+                    Map<String, Object> result = driver.run(scenarioId, concurrency, batchSize, duplicateRatio,
+                            settings.requestsPerScenario(), settings.warmUpRequests());
+                    logger.warn("Load scenario {}", result);
+                    scenarios.add(result);
+                    failedRequests += (int) result.get("failedRequests");
+                }
+            }
+        }
+
+        writeReport(scenarios);
+        writeStageMetrics();
+        assertEquals(0, failedRequests, "import requests answered with a non-200 status");
+    }
+
+    // per-stage timings of the whole run, next to the report, to see where the time went
+    private static void writeStageMetrics() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(prometheusUri).header("X-API-Key", metricsApiKey).build(),
+                        HttpResponse.BodyHandlers.ofString());
+        String fxdealsMetrics = response.body().lines()
+                .filter(line -> line.contains("fxdeals_import"))
+                .collect(Collectors.joining("\n", "", "\n"));
+        Files.writeString(settings.reportFile().resolveSibling("import-metrics.prom"), fxdealsMetrics);
+    }
+
+    private static void writeReport(List<Map<String, Object>> scenarios) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("database", settings.useEmbeddedDatabase() ? "embedded-postgres" : settings.jdbcUrl());
+        report.put("mode", settings.mode().isBlank() ? "default" : settings.mode());
+        report.put("requestsPerScenario", settings.requestsPerScenario());
+        report.put("warmUpRequests", settings.warmUpRequests());
+        report.put("scenarios", scenarios);
+
+        Files.createDirectories(settings.reportFile().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.reportFile().toFile(), report);
+        logger.warn("Load test report written to {}", settings.reportFile().toAbsolutePath());
+    }
+}
@@ -0,0 +1,44 @@
+package org.bloomberg.fx_deals.LoadTest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Nearest-rank percentiles over the recorded request latencies of one scenario.
+ */
+final class LatencyStats {
+
+    private final long[] sortedNanos;
+
+    LatencyStats(long[] latencyNanos) {
+        this.sortedNanos = latencyNanos.clone();
+        Arrays.sort(this.sortedNanos);
+    }
+
+    double percentileMillis(double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+        return toMillis(sortedNanos[Math.max(rank, 1) - 1]);
+    }
+
+    double meanMillis() {
+        return sortedNanos.length == 0 ? 0 : toMillis((long) Arrays.stream(sortedNanos).average().orElse(0));
+    }
+
+    Map<String, Double> toReport() {
+        Map<String, Double> report = new LinkedHashMap<>();
+        report.put("p50", percentileMillis(50));
+        report.put("p99", percentileMillis(99));
+        report.put("p999", percentileMillis(99.9));
+        report.put("max", percentileMillis(100));
+        report.put("mean", meanMillis());
+        return report;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
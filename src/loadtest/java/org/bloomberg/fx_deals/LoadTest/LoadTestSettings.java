@@ -0,0 +1,56 @@
+package org.bloomberg.fx_deals.LoadTest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load-test knobs, read from {@code -Dloadtest.*} system properties. Every combination of
+ * concurrency, batch size and duplicate ratio is run as its own scenario.
+ */
+record LoadTestSettings(
+        List<Integer> concurrencies,
+        List<Integer> batchSizes,
+        List<Double> duplicateRatios,
+        int requestsPerScenario,
+        int warmUpRequests,
+        String mode,
+        Path reportFile,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                intList("loadtest.concurrency", "1,8,32"),
+                intList("loadtest.batch-sizes", "100,1000,5000"),
+                doubleList("loadtest.duplicate-ratios", "0.0,0.2"),
+                Integer.getInteger("loadtest.requests", 200),
+                Integer.getInteger("loadtest.warmup-requests", 20),
+                System.getProperty("loadtest.mode", ""),
+                Path.of(System.getProperty("loadtest.report", "target/load-test/import-load.json")),
+                System.getProperty("loadtest.jdbc-url", ""),
+                System.getProperty("loadtest.jdbc-username", "fxuser"),
+                System.getProperty("loadtest.jdbc-password", "fxpass"));
+    }
+
+    // an explicit JDBC url targets an existing database instead of the embedded one
+    boolean useEmbeddedDatabase() {
+        return jdbcUrl.isBlank();
+    }
+
+    private static List<Integer> intList(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    private static List<Double> doubleList(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .map(String::trim)
+                .map(Double::valueOf)
+                .toList();
+    }
+}
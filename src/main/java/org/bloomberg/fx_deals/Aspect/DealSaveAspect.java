@@ -5,14 +5,19 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.bloomberg.fx_deals.Corevalidation.DealCoreValidation;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
 import org.bloomberg.fx_deals.Model.DTO.DealDto;
 import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
-import org.bloomberg.fx_deals.Context.DuplicateDealsContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Aspect
 @Component
@@ -22,6 +27,7 @@ public class DealSaveAspect {
     private static final Logger logger = LoggerFactory.getLogger(DealSaveAspect.class);
 
     private final DealCoreValidation coreValidation;
+    private final ImportMetrics importMetrics;
 
     @Around("execution(* org.bloomberg.fx_deals.Service.DealService.saveAll(..)) && args(dealDtos)")
     public Object filterDuplicatesBeforeSave(ProceedingJoinPoint pjp, List<DealDto> dealDtos) throws Throwable {
@@ -30,36 +36,43 @@ public class DealSaveAspect {
             return new ImportResultDto(List.of(), List.of());
         }
 
-        List<String> existingDealIds = dealDtos.stream()
-                .map(DealDto::getDealUniqueId)
-                .filter(id -> !coreValidation.isDealUnique(id))
-                .toList();
-        System.out.println("existingDealIds");
-        System.out.println(existingDealIds);
+        long start = System.nanoTime();
+        // one query per chunk of IDs instead of one per deal
+        Set<String> existingDealIds = coreValidation.findExistingDealIds(
+                dealDtos.stream().map(DealDto::getDealUniqueId).collect(Collectors.toCollection(LinkedHashSet::new)));
 
-        // I store the deals that already exist so we return them via response
-        DuplicateDealsContext.set(existingDealIds);
-
-
-        List<DealDto> newDeals = dealDtos.stream()
-                .filter(deal -> !existingDealIds.contains(deal.getDealUniqueId()))
-                .toList();
+        // IDs repeated inside the payload are duplicates too: only the first occurrence is kept
+        Set<String> acceptedIds = new HashSet<>();
+        List<String> duplicateDealIds = new ArrayList<>();
+        List<DealDto> newDeals = new ArrayList<>();
+        for (DealDto deal : dealDtos) {
+            String id = deal.getDealUniqueId();
+            if (existingDealIds.contains(id) || !acceptedIds.add(id)) {
+                duplicateDealIds.add(id);
+            } else {
+                newDeals.add(deal);
+            }
+        }
+        importMetrics.recordStage(ImportMetrics.Stage.DUPLICATE_CHECK, System.nanoTime() - start);
+        importMetrics.recordOutcome(0, 0, duplicateDealIds.size());
+        logger.debug("Duplicate deal IDs: {}", duplicateDealIds);
 
         try {
             // this is to catch the errors of db etc ...  to keep service only for Business logic
 
             if (newDeals.isEmpty()) {
                 logger.info("No new deals to save after filtering duplicates.");
-                return new ImportResultDto(List.of(), List.of());
+                return new ImportResultDto(List.of(), List.of(), duplicateDealIds);
+            }
+            ImportResultDto result = (ImportResultDto) pjp.proceed(new Object[]{newDeals});
+            // the deals that already exist are returned in the result, ahead of those only caught at insert time
+            if (!result.getDuplicateDeals().isEmpty()) {
+                duplicateDealIds.addAll(result.getDuplicateDeals());
             }
-            return pjp.proceed(new Object[]{newDeals});
+            return new ImportResultDto(result.getSuccessfulDeals(), result.getFailedDeals(), duplicateDealIds);
         } catch (Exception e) {
             logger.error("Error occurred while saving deals: {}", e.getMessage(), e);
             throw e;
         }
-//        finally {
-//            Memory free
-//            DuplicateDealsContext.clear();
-//        }
     }
 }
@@ -0,0 +1,56 @@
+package org.bloomberg.fx_deals.Config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission control of {@code POST /api/deals/import}, bound from {@code fxdeals.admission.*}.
+ * Each client gets a token bucket for requests and one for deals; all clients share a cap on the imports
+ * running at the same time.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Imports running at the same time across all clients; 0 means the size of the connection pool.
+     */
+    private int maxConcurrentImports = 0;
+
+    /**
+     * Request header identifying the client, e.g. {@code X-Forwarded-For} behind a proxy (its first entry is used);
+     * empty means the remote address.
+     */
+    private String clientHeader = "";
+
+    /**
+     * How long the buckets of a client that stopped sending are kept.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private final Limit requests = new Limit(10, 20);
+
+    private final Limit deals = new Limit(50_000, 200_000);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Sustained rate per client; 0 disables the limit.
+         */
+        private double perSecond;
+
+        /**
+         * What a client that has been idle may spend at once.
+         */
+        private long burst;
+    }
+}
@@ -0,0 +1,51 @@
+package org.bloomberg.fx_deals.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Authentication of the protected endpoints, bound from {@code fxdeals.auth.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.auth")
+public class AuthProperties {
+
+    /**
+     * Request header carrying an API key.
+     */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * Accepted API keys. Only their SHA-256 is configured, so the keys themselves are never stored.
+     */
+    private List<ApiKey> apiKeys = new ArrayList<>();
+
+    /**
+     * How long a successful Basic verification is reused for the same user and password; 0 disables the cache.
+     * A password change or a disabled user takes effect after at most this long.
+     */
+    private Duration basicCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Verifications cached at once; past it, expired entries are dropped, then the whole cache if need be.
+     */
+    private int basicCacheMaxEntries = 10_000;
+
+    @Data
+    public static class ApiKey {
+
+        /**
+         * Principal name of the requests made with the key.
+         */
+        private String name;
+
+        /**
+         * Hex SHA-256 of the key, e.g. {@code printf %s "$KEY" | sha256sum}.
+         */
+        private String sha256;
+    }
+}
@@ -0,0 +1,35 @@
+package org.bloomberg.fx_deals.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Sizing of the in-memory Bloom filter of stored deal ids, bound from {@code fxdeals.deal-id-filter.*}.
+ * Memory use is about {@code -expectedInsertions * ln(fpp) / ln(2)^2} bits,
+ * e.g. 200M ids at 1% take roughly 230 MB.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.deal-id-filter")
+public class DealIdFilterProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Number of ids the filter is sized for; size it for the table plus expected growth until the next rebuild.
+     * At startup the filter is sized for the stored ids plus a quarter when the table has grown past it.
+     */
+    private long expectedInsertions = 200_000_000;
+
+    private double falsePositiveProbability = 0.01;
+
+    /**
+     * Most heap the filter may take. A rebuild asking for more is refused; the startup sizing stays within it.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(512);
+
+    /**
+     * Rows fetched per round trip while loading the ids at startup or on rebuild.
+     */
+    private int warmUpFetchSize = 10_000;
+}
@@ -0,0 +1,25 @@
+package org.bloomberg.fx_deals.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Upkeep of the monthly partitions of {@code deals}, bound from {@code fxdeals.deal-partitions.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.deal-partitions")
+public class DealPartitionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Future months that must have a partition besides the current one. Deals beyond them go to the
+     * default partition and are moved out when their month is created.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * When the missing partitions are created, in addition to startup.
+     */
+    private String cron = "0 0 3 * * *";
+}
@@ -0,0 +1,32 @@
+package org.bloomberg.fx_deals.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Runs the migrations at startup, except when the context is only refreshed to exit
+ * ({@code -Dspring.context.exit=onRefresh}): the class-data-sharing training run of the Dockerfile
+ * has no database to migrate. Decided at runtime, so it also holds in an AOT-processed jar, where
+ * {@code spring.flyway.enabled} was fixed at build time.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        boolean exitOnRefresh = "onRefresh".equalsIgnoreCase(environment.getProperty("spring.context.exit"));
+        return flyway -> {
+            if (exitOnRefresh) {
+                logger.info("Context exits on refresh: skipping database migrations");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
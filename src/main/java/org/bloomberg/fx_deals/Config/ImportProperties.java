@@ -0,0 +1,163 @@
+package org.bloomberg.fx_deals.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the deal import pipeline, bound from {@code fxdeals.import.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "fxdeals.import")
+public class ImportProperties {
+
+    /**
+     * Number of deals written per multi-row INSERT statement; only the starting size when
+     * {@code adaptive-batch} is enabled.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Number of deals parsed from the request stream before they are validated and saved together.
+     */
+    private int streamChunkSize = 5000;
+
+    /**
+     * Invalid deals whose errors are detailed in a response; the others are only counted or named.
+     */
+    private int maxReportedValidationErrors = 1000;
+
+    /**
+     * Ids of each outcome listed in a summary response ({@code summary=true}).
+     */
+    private int summarySampleSize = 10;
+
+    private final AdaptiveBatch adaptiveBatch = new AdaptiveBatch();
+
+    private final Jobs jobs = new Jobs();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Csv csv = new Csv();
+
+    /**
+     * Runtime tuning of the deals per INSERT statement from the observed commit latency and failures.
+     */
+    @Data
+    public static class AdaptiveBatch {
+
+        /**
+         * When false, every statement carries {@code batch-size} deals.
+         */
+        private boolean enabled = true;
+
+        private int minSize = 50;
+
+        /**
+         * Upper bound, itself capped by the bind parameter limit of one statement.
+         */
+        private int maxSize = 5000;
+
+        /**
+         * Statement latency above which the size shrinks.
+         */
+        private Duration targetLatency = Duration.ofMillis(250);
+
+        /**
+         * Deals added after a full chunk committed under the target latency.
+         */
+        private int increaseStep = 50;
+
+        /**
+         * Factor applied to the size on a slow or failed statement.
+         */
+        private double decreaseFactor = 0.5;
+    }
+
+    /**
+     * Asynchronous import jobs ({@code ?mode=async}).
+     */
+    @Data
+    public static class Jobs {
+
+        /**
+         * Jobs processed at the same time, each holding one DB connection while it runs.
+         */
+        private int workers = 2;
+
+        /**
+         * Jobs waiting for a worker; submissions beyond it are rejected.
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * Deals held by queued and running jobs; a job that would go past it is rejected. A job larger than
+         * the limit is let in only when no other job holds any.
+         */
+        private int maxQueuedDeals = 1_000_000;
+
+        /**
+         * How long a finished job stays queryable.
+         */
+        private Duration retention = Duration.ofHours(1);
+    }
+
+    /**
+     * Replay of {@code /api/deals/import} results for retried requests.
+     */
+    @Data
+    public static class Idempotency {
+
+        private boolean enabled = true;
+
+        /**
+         * Whether requests without an {@code Idempotency-Key} header are keyed by the SHA-256 of their body.
+         */
+        private boolean hashPayloads = true;
+
+        /**
+         * How long a completed result is replayed.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * How long a request may run before a retry stops waiting for it and imports again,
+         * e.g. when the instance running it died.
+         */
+        private Duration inProgressTimeout = Duration.ofMinutes(30);
+
+        /**
+         * How long a concurrent identical request waits for the first one before answering 409.
+         */
+        private Duration waitTimeout = Duration.ofMinutes(2);
+    }
+
+    /**
+     * CSV uploads ({@code Content-Type: text/csv}).
+     */
+    @Data
+    public static class Csv {
+
+        /**
+         * Bytes of the spooled file mapped and parsed as one unit; slices end on the next line break.
+         */
+        private DataSize sliceSize = DataSize.ofMegabytes(8);
+
+        /**
+         * Threads parsing and validating slices, shared by all CSV imports; 0 means one per core.
+         */
+        private int parseThreads = 0;
+
+        /**
+         * Directory the upload is spooled to; empty means the system temporary directory.
+         */
+        private String spoolDirectory = "";
+
+        /**
+         * Malformed rows detailed in the response; the failed deal list still names all of them.
+         */
+        private int maxReportedRowErrors = 1000;
+    }
+}
@@ -1,20 +0,0 @@
-package org.bloomberg.fx_deals.Context;
-
-import java.util.List;
-
-public class DuplicateDealsContext {
-
-    private static final ThreadLocal<List<String>> duplicateDeals = new ThreadLocal<>();
-
-    public static void set(List<String> ids) {
-        duplicateDeals.set(ids);
-    }
-
-    public static List<String> get() {
-        return duplicateDeals.get();
-    }
-
-    public static void clear() {
-        duplicateDeals.remove();
-    }
-}
@@ -3,18 +3,50 @@ package org.bloomberg.fx_deals.Controller;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Config.BinaryFormatsConfig;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
 import org.bloomberg.fx_deals.Helpers.ControllerHelper;
+import org.bloomberg.fx_deals.Helpers.ImportSummaryCollector;
+import org.bloomberg.fx_deals.Helpers.NdjsonImportWriter;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.CsvRowErrorDto;
 import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.DealPageDto;
+import org.bloomberg.fx_deals.Model.DTO.DealSearchCriteria;
+import org.bloomberg.fx_deals.Model.DTO.DealVolumeRollupDto;
+import org.bloomberg.fx_deals.Model.Entity.DealVolumeRollup;
+import org.bloomberg.fx_deals.Model.DTO.ImportJobDto;
 import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
-import org.bloomberg.fx_deals.Context.DuplicateDealsContext;
+import org.bloomberg.fx_deals.Security.ImportAdmission;
+import org.bloomberg.fx_deals.Service.DealCsvImportService;
+import org.bloomberg.fx_deals.Service.DealQueryService;
 import org.bloomberg.fx_deals.Service.DealService;
+import org.bloomberg.fx_deals.Service.DealStreamImportService;
+import org.bloomberg.fx_deals.Service.DealVolumeRollupService;
+import org.bloomberg.fx_deals.Service.ImportIdempotencyService;
+import org.bloomberg.fx_deals.Service.ImportJobService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/deals")
@@ -23,35 +55,296 @@ import java.util.Map;
 @Tag(name = "FX Deals", description = "API for managing foreign exchange deals")
 public class DealController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final DealService dealService;
+    private final DealQueryService dealQueryService;
+    private final DealVolumeRollupService dealVolumeRollupService;
+    private final DealStreamImportService dealStreamImportService;
+    private final DealCsvImportService dealCsvImportService;
+    private final ImportJobService importJobService;
+    private final ImportIdempotencyService importIdempotencyService;
     private final ControllerHelper controllerHelper;
+    private final DealDtoValidator dealDtoValidator;
+    private final ObjectMapper objectMapper;
+    private final ImportMetrics importMetrics;
+    private final ImportProperties importProperties;
+    private final ImportAdmission importAdmission;
+
+    /**
+     * Reads deals back, ordered by timestamp then id. Every filter is optional; {@code from} is inclusive,
+     * {@code to} exclusive and the amount bounds inclusive. Pass the returned {@code nextCursor} as
+     * {@code cursor} (with the same filters) to get the next page.
+     */
+    @GetMapping
+    public ResponseEntity<DealPageDto> searchDeals(@RequestParam(required = false) Instant from,
+                                                   @RequestParam(required = false) Instant to,
+                                                   @RequestParam(required = false) String fromCurrency,
+                                                   @RequestParam(required = false) String toCurrency,
+                                                   @RequestParam(required = false) BigDecimal minAmount,
+                                                   @RequestParam(required = false) BigDecimal maxAmount,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String cursor) {
+        DealSearchCriteria criteria = DealSearchCriteria.builder()
+                .from(from)
+                .to(to)
+                .fromCurrency(fromCurrency)
+                .toCurrency(toCurrency)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .build();
+        return ResponseEntity.ok(dealQueryService.search(criteria, limit, cursor));
+    }
+
+    /**
+     * Deal count and volume per currency pair and UTC bucket ({@code MINUTE}, {@code HOUR} or {@code DAY})
+     * for buckets starting in {@code [from, to)}. Reads only the rollups maintained on import, never raw deals.
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<List<DealVolumeRollupDto>> getVolumeRollups(@RequestParam DealVolumeRollup.Granularity granularity,
+                                                                      @RequestParam Instant from,
+                                                                      @RequestParam Instant to,
+                                                                      @RequestParam(required = false) String fromCurrency,
+                                                                      @RequestParam(required = false) String toCurrency) {
+        return ResponseEntity.ok(dealVolumeRollupService.findBuckets(granularity, from, to, fromCurrency, toCurrency));
+    }
+
     /**
      * Endpoint to import one or multiple deals.
      * No rollback: saves all valid deals, skips duplicates.
+     * The whole list is validated up front by {@link DealDtoValidator}; any invalid deal rejects the request,
+     * unless {@code partial=true}: the valid deals are then saved and the invalid ones reported as failed,
+     * with their errors detailed by list index under {@code validationErrors}.
+     * With {@code summary=true} the response carries counts and a few ids of each outcome instead of every id.
+     * A retry with the same {@code Idempotency-Key} header, or the same body when there is none, gets the
+     * first response back (marked {@code Idempotent-Replayed: true}) without importing again.
+     * The body may be JSON, Smile or CBOR, and the response follows the {@code Accept} header (JSON by default).
      */
     @PostMapping("/import")
 
-    public ResponseEntity<?> importDeals(@Valid @RequestBody List<DealDto> dealDtos) {
-        ImportResultDto result = dealService.saveAll(dealDtos);
+    public ResponseEntity<?> importDeals(@RequestBody List<DealDto> dealDtos,
+                                         @RequestParam(defaultValue = "false") boolean partial,
+                                         @RequestParam(defaultValue = "false") boolean summary,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                         HttpServletRequest request) {
+        return importIdempotently(idempotencyKey, payloadHash(request), importVariant("json", partial, summary), () -> {
+            try (ImportMetrics.ImportScope ignored = importMetrics.startImport("json")) {
+                return importValidated(dealDtos, partial, summary, dealService::saveAll);
+            }
+        });
+    }
 
-        List<String> duplicateIds = DuplicateDealsContext.get();
-        duplicateIds = (duplicateIds != null) ? duplicateIds : List.of();
+    /**
+     * Bulk variant for backfills and migrations ({@code ?mode=bulk}): same validation and response,
+     * but the deals are streamed with COPY and merged in one statement.
+     */
+    @PostMapping(value = "/import", params = "mode=bulk")
+    public ResponseEntity<?> importDealsBulk(@RequestBody List<DealDto> dealDtos,
+                                             @RequestParam(defaultValue = "false") boolean partial,
+                                             @RequestParam(defaultValue = "false") boolean summary,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                             HttpServletRequest request) {
+        return importIdempotently(idempotencyKey, payloadHash(request), importVariant("bulk", partial, summary), () -> {
+            try (ImportMetrics.ImportScope ignored = importMetrics.startImport("bulk")) {
+                return importValidated(dealDtos, partial, summary, dealService::bulkImport);
+            }
+        });
+    }
 
-        int successCount = result.getSuccessfulDeals().size();
-        int failCount = result.getFailedDeals().size();
-        int dupCount = duplicateIds.size();
+    /**
+     * CSV variant ({@code Content-Type: text/csv}) with a header row naming the {@link DealDto} fields.
+     * The file is spooled to disk and parsed in parallel; malformed or invalid rows are reported as failed
+     * and detailed by line number under {@code rowErrors} instead of rejecting the request.
+     * Retries are replayed like {@link #importDeals}.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importDealsCsv(@RequestParam(defaultValue = "false") boolean summary,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                            HttpServletRequest request) throws IOException {
+        try (DealCsvImportService.SpooledCsv csv = dealCsvImportService.spool(request.getInputStream())) {
+            return importIdempotently(idempotencyKey, csv.sha256(), importVariant("csv", false, summary), () -> {
+                try (ImportMetrics.ImportScope ignored = importMetrics.startImport("csv")) {
+                    Map<String, Object> body;
+                    List<CsvRowErrorDto> rowErrors;
+                    if (summary) {
+                        ImportSummaryCollector collector = summaryCollector();
+                        rowErrors = dealCsvImportService.importCsv(csv, collector);
+                        importAdmission.chargeDeals(request, collector.dealCount());
+                        body = collector.toBody();
+                    } else {
+                        DealCsvImportService.CsvImport result = dealCsvImportService.importCsv(csv);
+                        rowErrors = result.rowErrors();
+                        importAdmission.chargeDeals(request, dealCount(result.result()));
+                        body = new HashMap<>(controllerHelper.buildImportBody(result.result()));
+                    }
+                    body.put("rowErrors", rowErrors);
+                    return body;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Asynchronous variant ({@code ?mode=async}): validates, queues the deals and returns a job id right away.
+     * Progress and the final result are read from {@link #getImportJob}. Answers 503 when the queue is full.
+     */
+    @PostMapping(value = "/import", params = "mode=async")
+    public ResponseEntity<ImportJobDto> importDealsAsync(@RequestBody List<DealDto> dealDtos) {
+        validateAll(dealDtos);
+        ImportJobDto job = importJobService.submit(dealDtos);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/deals/import/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.of(importJobService.find(jobId));
+    }
 
-        String message = controllerHelper.getUserNotification(successCount, failCount, dupCount) +
-                " | Success: " + successCount +
-                " | Failed: " + failCount +
-                " | Duplicates: " + dupCount;
+    /**
+     * Streaming variant for very large payloads ({@code ?mode=stream}): the JSON, Smile or CBOR array is read
+     * from the request body deal by deal and saved in chunks, so the payload is never bound as a whole.
+     * Invalid deals are reported as failed instead of rejecting the request. With {@code summary=true}
+     * the result lists are not held in memory either.
+     */
+    @PostMapping(value = "/import", params = "mode=stream", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            BinaryFormatsConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<?> importDealsStream(@RequestParam(defaultValue = "false") boolean summary,
+                                               HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        try (ImportMetrics.ImportScope ignored = importMetrics.startImport("stream")) {
+            if (summary) {
+                ImportSummaryCollector collector = summaryCollector();
+                dealStreamImportService.importStream(request.getInputStream(), contentType, collector);
+                importAdmission.chargeDeals(request, collector.dealCount());
+                return ResponseEntity.ok(collector.toBody());
+            }
+            ImportResultDto result = dealStreamImportService.importStream(request.getInputStream(), contentType);
+            importAdmission.chargeDeals(request, dealCount(result));
+            return buildImportResponse(result);
+        }
+    }
+
+    /**
+     * Progress variant of {@link #importDeals} for clients sending {@code Accept: application/x-ndjson}:
+     * one line per chunk as soon as it is committed, then a summary line.
+     */
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importDealsNdjson(@RequestBody List<DealDto> dealDtos) {
+        validateAll(dealDtos);
+        return ndjsonResponse("ndjson", writer -> dealStreamImportService.importInChunks(dealDtos, writer));
+    }
+
+    /**
+     * Progress variant of {@link #importDealsStream}: neither the payload nor the result lists are held in memory.
+     */
+    @PostMapping(value = "/import", params = "mode=stream", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            BinaryFormatsConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importDealsStreamNdjson(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        // the request may be recycled by the time the async import ends, so the client is read now
+        String client = (String) request.getAttribute(ImportAdmission.CLIENT_ATTRIBUTE);
+        return ndjsonResponse("stream-ndjson", writer -> {
+            try {
+                dealStreamImportService.importStream(body, contentType, writer);
+            } finally {
+                importAdmission.chargeDeals(client, writer.dealCount());
+            }
+        });
+    }
+
+    private static String payloadHash(HttpServletRequest request) {
+        return (String) request.getAttribute(ImportPayloadDigestAdvice.PAYLOAD_HASH_ATTRIBUTE);
+    }
+
+    // every parameter changing the response shape, so a retry only replays a response of the shape it asked for
+    private static String importVariant(String mode, boolean partial, boolean summary) {
+        return "mode=" + mode + "&partial=" + partial + "&summary=" + summary;
+    }
+
+    private ResponseEntity<?> importIdempotently(String idempotencyKey, String payloadHash, String variant,
+                                                 Supplier<Map<String, Object>> importer) {
+        ImportIdempotencyService.ImportResponse response =
+                importIdempotencyService.execute(idempotencyKey, payloadHash, variant, importer);
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.replayed()))
+                .body(response.body());
+    }
+
+    private Map<String, Object> importValidated(List<DealDto> dealDtos, boolean partial, boolean summary,
+                                                Function<List<DealDto>, ImportResultDto> importer) {
+        if (!partial) {
+            validateAll(dealDtos);
+            return buildImportBody(importer.apply(dealDtos), summary);
+        }
+
+        long start = System.nanoTime();
+        DealDtoValidator.ValidatedDeals validated =
+                dealDtoValidator.partition(dealDtos, importProperties.getMaxReportedValidationErrors());
+        importMetrics.recordStage(ImportMetrics.Stage.VALIDATION, System.nanoTime() - start);
+        importMetrics.recordOutcome(0, validated.invalidDeals().size(), 0);
+
+        ImportResultDto result = validated.validDeals().isEmpty()
+                ? new ImportResultDto(List.of(), List.of())
+                : importer.apply(validated.validDeals());
+        List<String> failedDeals = new ArrayList<>(validated.invalidDeals());
+        failedDeals.addAll(result.getFailedDeals());
+
+        Map<String, Object> body = new HashMap<>(buildImportBody(
+                new ImportResultDto(result.getSuccessfulDeals(), failedDeals, result.getDuplicateDeals()), summary));
+        body.put("validationErrors", validated.errorsGroupedByIndex());
+        return body;
+    }
+
+    private void validateAll(List<DealDto> dealDtos) {
+        long start = System.nanoTime();
+        try {
+            dealDtoValidator.validateAll(dealDtos, importProperties.getMaxReportedValidationErrors());
+        } finally {
+            importMetrics.recordStage(ImportMetrics.Stage.VALIDATION, System.nanoTime() - start);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjsonResponse(String mode, NdjsonImport importer) {
+        StreamingResponseBody body = out -> {
+            NdjsonImportWriter writer = new NdjsonImportWriter(out, objectMapper, controllerHelper);
+            // the import runs on the async thread writing the response, so the scope is opened there
+            try (ImportMetrics.ImportScope ignored = importMetrics.startImport(mode)) {
+                importer.run(writer);
+            } catch (JsonProcessingException e) {
+                // the status line is already sent, so a malformed body is reported in-band
+                writer.writeError("Request body is malformed: " + e.getOriginalMessage());
+            }
+            writer.writeSummary();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @FunctionalInterface
+    private interface NdjsonImport {
+        void run(NdjsonImportWriter writer) throws IOException;
+    }
+
+    private static int dealCount(ImportResultDto result) {
+        return result.getSuccessfulDeals().size() + result.getFailedDeals().size() + result.getDuplicateDeals().size();
+    }
+
+    private ResponseEntity<?> buildImportResponse(ImportResultDto result) {
+        return ResponseEntity.ok(controllerHelper.buildImportBody(result));
+    }
+
+    private Map<String, Object> buildImportBody(ImportResultDto result, boolean summary) {
+        return summary ? summaryCollector().add(result).toBody() : controllerHelper.buildImportBody(result);
+    }
 
-        return ResponseEntity.ok(Map.of(
-                "message", message,
-                "successfulDeals", result.getSuccessfulDeals(),
-                "failedDeals", result.getFailedDeals(),
-                "duplicateDeals", duplicateIds
-        ));
+    private ImportSummaryCollector summaryCollector() {
+        return new ImportSummaryCollector(controllerHelper, importProperties.getSummarySampleSize());
     }
 
 }
@@ -0,0 +1,60 @@
+package org.bloomberg.fx_deals.Controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Config.DealIdFilterProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealIdFilter;
+import org.bloomberg.fx_deals.Model.DTO.DealIdFilterStatsDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/deal-id-filter")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Deal ID Filter", description = "Sizing and maintenance of the in-memory duplicate pre-check")
+public class DealIdFilterController {
+
+    private final DealIdFilter dealIdFilter;
+    private final DealIdFilterProperties properties;
+
+    @GetMapping
+    public DealIdFilterStatsDto getStats() {
+        return dealIdFilter.stats();
+    }
+
+    /**
+     * Reloads the filter from the deals table in the background, optionally with a new sizing.
+     * Answers 409 when a rebuild is already running, 400 when the filter would exceed {@code max-memory}.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(
+            @RequestParam(required = false) @Min(1) @Max(2_000_000_000L) Long expectedInsertions,
+            @RequestParam(required = false) @DecimalMin(value = "0.000001") @DecimalMax(value = "0.5") Double falsePositiveProbability) {
+        long insertions = expectedInsertions != null ? expectedInsertions : properties.getExpectedInsertions();
+        double fpp = falsePositiveProbability != null ? falsePositiveProbability : properties.getFalsePositiveProbability();
+
+        boolean started;
+        try {
+            started = dealIdFilter.rebuildAsync(insertions, fpp);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        if (!started) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "A rebuild is already running."));
+        }
+        return ResponseEntity.accepted().body(Map.of(
+                "message", "Rebuild started.",
+                "expectedInsertions", insertions,
+                "falsePositiveProbability", fpp
+        ));
+    }
+}
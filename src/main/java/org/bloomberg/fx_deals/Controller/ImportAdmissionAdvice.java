@@ -0,0 +1,43 @@
+package org.bloomberg.fx_deals.Controller;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Security.ImportAdmission;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Charges the deals of a bound {@code List<DealDto>} import body to the client's deal rate limit as soon as
+ * they are counted, before the import runs. Streamed and CSV imports are charged by the controller once done.
+ */
+@ControllerAdvice(assignableTypes = DealController.class)
+@RequiredArgsConstructor
+public class ImportAdmissionAdvice extends RequestBodyAdviceAdapter {
+
+    private final ImportAdmission importAdmission;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forType(targetType);
+        return List.class.isAssignableFrom(type.toClass()) && type.getGeneric(0).toClass() == DealDto.class;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        String client = (String) RequestContextHolder.currentRequestAttributes()
+                .getAttribute(ImportAdmission.CLIENT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        importAdmission.chargeDeals(client, ((List<?>) body).size());
+        return body;
+    }
+}
@@ -0,0 +1,91 @@
+package org.bloomberg.fx_deals.Controller;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Hashes {@code List<DealDto>} import bodies with SHA-256 while Jackson reads them, so idempotency keys
+ * derived from the payload cost no extra pass over it. The hex digest is left in the
+ * {@link #PAYLOAD_HASH_ATTRIBUTE} request attribute.
+ */
+@ControllerAdvice(assignableTypes = DealController.class)
+@RequiredArgsConstructor
+public class ImportPayloadDigestAdvice extends RequestBodyAdviceAdapter {
+
+    public static final String PAYLOAD_HASH_ATTRIBUTE = ImportPayloadDigestAdvice.class.getName() + ".payloadHash";
+
+    private final ImportProperties importProperties;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forType(targetType);
+        return importProperties.getIdempotency().isEnabled()
+                && List.class.isAssignableFrom(type.toClass()) && type.getGeneric(0).toClass() == DealDto.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        return new DigestingInputMessage(inputMessage);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (inputMessage instanceof DigestingInputMessage digesting) {
+            RequestContextHolder.currentRequestAttributes().setAttribute(PAYLOAD_HASH_ATTRIBUTE,
+                    HexFormat.of().formatHex(digesting.body.getMessageDigest().digest()),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+
+    private static final class DigestingInputMessage implements HttpInputMessage {
+
+        private final HttpHeaders headers;
+        private final DigestInputStream body;
+
+        private DigestingInputMessage(HttpInputMessage inputMessage) throws IOException {
+            this.headers = inputMessage.getHeaders();
+            this.body = new DigestInputStream(inputMessage.getBody(), sha256());
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package org.bloomberg.fx_deals.Corevalidation;
 
 import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
 import org.bloomberg.fx_deals.Repository.DealRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class DealCoreValidation {
 
     private static final Logger logger = LoggerFactory.getLogger(DealCoreValidation.class);
+
+    // keeps the IN (...) list well below the driver bind-parameter limit
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private final DealRepository dealRepository;
+    private final DealIdFilter dealIdFilter;
+    private final ImportMetrics importMetrics;
 
     public boolean isDealUnique(String dealUniqueId) {
         try {
@@ -21,6 +34,11 @@ public class DealCoreValidation {
                 return false;
             }
 
+            if (!dealIdFilter.mightExist(dealUniqueId)) {
+                return true;
+            }
+
+            importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.LOOKUP);
             boolean exists = dealRepository.existsByDealUniqueId(dealUniqueId);
             logger.debug("Deal ID {} exists: {}", dealUniqueId, exists);
 
@@ -31,4 +49,50 @@ public class DealCoreValidation {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Bulk version of {@link #isDealUnique(String)}: returns every id of the input that must be
+     * treated as already existing, using one query per {@value #LOOKUP_CHUNK_SIZE} ids.
+     * Same rules as the single check: blank ids and ids whose lookup failed are not unique.
+     * Ids the {@link DealIdFilter} knows to be new are not queried at all.
+     */
+    public Set<String> findExistingDealIds(Collection<String> dealUniqueIds) {
+        Set<String> existing = new HashSet<>();
+        List<String> chunk = new ArrayList<>(Math.min(dealUniqueIds.size(), LOOKUP_CHUNK_SIZE));
+        int skipped = 0;
+
+        for (String id : dealUniqueIds) {
+            if (id == null || id.isBlank()) {
+                logger.warn("Empty deal ID check");
+                existing.add(id);
+                continue;
+            }
+            if (!dealIdFilter.mightExist(id)) {
+                skipped++;
+                continue;
+            }
+            chunk.add(id);
+            if (chunk.size() == LOOKUP_CHUNK_SIZE) {
+                lookupChunk(chunk, existing);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            lookupChunk(chunk, existing);
+        }
+
+        logger.debug("Bulk duplicate check: {} of {} deal IDs already exist, {} skipped as definitely new",
+                existing.size(), dealUniqueIds.size(), skipped);
+        return existing;
+    }
+
+    private void lookupChunk(List<String> chunk, Set<String> existing) {
+        try {
+            importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.LOOKUP);
+            existing.addAll(dealRepository.findExistingDealUniqueIds(chunk));
+        } catch (DataAccessException e) {
+            logger.error("DB error checking {} deal IDs: {}", chunk.size(), e.getMessage());
+            existing.addAll(chunk);
+        }
+    }
+}
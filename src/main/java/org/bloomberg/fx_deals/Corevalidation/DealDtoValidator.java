@@ -0,0 +1,269 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import org.bloomberg.fx_deals.Exceptions.DealValidationException;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written equivalent of the Bean Validation constraints declared on {@link DealDto}, used on the import path.
+ * Every field is checked in one pass, character by character, without regexes; nothing is allocated for a valid deal.
+ * The timestamp is converted to epoch seconds while it is checked and stored on the DTO for {@code DealMapper}.
+ * Messages are the ones declared on the DTO annotations, so error responses do not change.
+ */
+@Component
+public class DealDtoValidator {
+
+    static final String DEAL_ID_REQUIRED = "Deal Unique Id is required";
+    static final String DEAL_ID_TOO_LONG = "Deal Unique Id must not exceed 255 characters";
+    static final String FROM_CURRENCY_REQUIRED = "From Currency ISO Code is required";
+    static final String FROM_CURRENCY_FORMAT = "From Currency ISO Code must be 3 uppercase letters";
+    static final String TO_CURRENCY_REQUIRED = "To Currency ISO Code is required";
+    static final String TO_CURRENCY_FORMAT = "To Currency ISO Code must be 3 uppercase letters";
+    static final String TIMESTAMP_REQUIRED = "Deal timestamp is required";
+    static final String TIMESTAMP_FORMAT = "Deal timestamp must be ISO-8601 format like 2025-08-04T02:36:07Z";
+    static final String AMOUNT_REQUIRED = "Deal Amount in ordering currency is required";
+    static final String AMOUNT_MIN = "Deal Amount must be greater than zero";
+    static final String AMOUNT_DIGITS = "Deal Amount must have at most 15 digits and 2 decimal places";
+    static final String DEAL_REQUIRED = "Deal must not be null";
+
+    private static final int MAX_DEAL_ID_LENGTH = 255;
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+    private static final int MAX_INTEGER_DIGITS = 15;
+    private static final int MAX_FRACTION_DIGITS = 2;
+
+    /**
+     * Validates every deal and throws with all errors grouped by list index, like a {@code @Valid} list would.
+     */
+    public void validateAll(List<DealDto> dealDtos) {
+        validateAll(dealDtos, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #validateAll(List)}, but only the first {@code maxReportedDeals} invalid deals are detailed.
+     */
+    public void validateAll(List<DealDto> dealDtos, int maxReportedDeals) {
+        ValidatedDeals validated = partition(dealDtos, maxReportedDeals);
+        if (!validated.invalidDeals().isEmpty()) {
+            throw new DealValidationException(validated.errorsGroupedByIndex(), validated.invalidDeals().size());
+        }
+    }
+
+    /**
+     * Splits the deals into the valid ones and the invalid ones, without throwing. Invalid deals are named
+     * by id, or by {@code #index} when the id is blank; the first {@code maxReportedDeals} of them also
+     * get their errors detailed by list index. When every deal is valid the input list is returned as is.
+     */
+    public ValidatedDeals partition(List<DealDto> dealDtos, int maxReportedDeals) {
+        List<DealDto> validDeals = null;
+        List<String> invalidDeals = List.of();
+        Map<String, List<Map<String, String>>> errorsGroupedByIndex = Map.of();
+        for (int i = 0; i < dealDtos.size(); i++) {
+            DealDto deal = dealDtos.get(i);
+            List<Map<String, String>> errors = validate(deal);
+            if (errors.isEmpty()) {
+                if (validDeals != null) {
+                    validDeals.add(deal);
+                }
+                continue;
+            }
+            if (validDeals == null) {
+                validDeals = new ArrayList<>(dealDtos.subList(0, i));
+                invalidDeals = new ArrayList<>();
+                errorsGroupedByIndex = new LinkedHashMap<>();
+            }
+            String id = deal != null ? deal.getDealUniqueId() : null;
+            invalidDeals.add(isBlank(id) ? "#" + i : id);
+            if (errorsGroupedByIndex.size() < maxReportedDeals) {
+                errorsGroupedByIndex.put(String.valueOf(i), errors);
+            }
+        }
+        return new ValidatedDeals(validDeals != null ? validDeals : dealDtos, invalidDeals, errorsGroupedByIndex);
+    }
+
+    /**
+     * @return the violations as {@code property}/{@code message} pairs, an empty immutable list when the deal is valid
+     */
+    public List<Map<String, String>> validate(DealDto deal) {
+        if (deal == null) {
+            return List.of(error("deal", DEAL_REQUIRED));
+        }
+        List<Map<String, String>> errors = null;
+
+        String id = deal.getDealUniqueId();
+        if (isBlank(id)) {
+            errors = add(errors, "dealUniqueId", DEAL_ID_REQUIRED);
+        }
+        if (id != null && id.length() > MAX_DEAL_ID_LENGTH) {
+            errors = add(errors, "dealUniqueId", DEAL_ID_TOO_LONG);
+        }
+
+        String from = deal.getFromCurrencyIsoCode();
+        if (isBlank(from)) {
+            errors = add(errors, "fromCurrencyIsoCode", FROM_CURRENCY_REQUIRED);
+        }
+        if (from != null && !isCurrencyCode(from)) {
+            errors = add(errors, "fromCurrencyIsoCode", FROM_CURRENCY_FORMAT);
+        }
+
+        String to = deal.getToCurrencyIsoCode();
+        if (isBlank(to)) {
+            errors = add(errors, "toCurrencyIsoCode", TO_CURRENCY_REQUIRED);
+        }
+        if (to != null && !isCurrencyCode(to)) {
+            errors = add(errors, "toCurrencyIsoCode", TO_CURRENCY_FORMAT);
+        }
+
+        String timestamp = deal.getDealTimestamp();
+        if (timestamp == null) {
+            errors = add(errors, "dealTimestamp", TIMESTAMP_REQUIRED);
+        } else if (!isInstantFormat(timestamp)) {
+            errors = add(errors, "dealTimestamp", TIMESTAMP_FORMAT);
+        } else {
+            // null when the shape is right but the date is not (e.g. month 13): the mapper then fails it as before
+            deal.setDealEpochSecond(toEpochSecond(timestamp));
+        }
+
+        BigDecimal amount = deal.getDealAmountInOrderingCurrency();
+        if (amount == null) {
+            errors = add(errors, "dealAmountInOrderingCurrency", AMOUNT_REQUIRED);
+        } else {
+            if (amount.compareTo(MIN_AMOUNT) < 0) {
+                errors = add(errors, "dealAmountInOrderingCurrency", AMOUNT_MIN);
+            }
+            if (!hasAllowedDigits(amount)) {
+                errors = add(errors, "dealAmountInOrderingCurrency", AMOUNT_DIGITS);
+            }
+        }
+
+        return errors != null ? errors : List.of();
+    }
+
+    /**
+     * Same check as {@code ^\d{4}-\d{2}-\d{2}T\d{2}:\d{2}:\d{2}Z$}.
+     */
+    public static boolean isInstantFormat(String value) {
+        if (value.length() != 20) {
+            return false;
+        }
+        for (int i = 0; i < 20; i++) {
+            char c = value.charAt(i);
+            boolean ok = switch (i) {
+                case 4, 7 -> c == '-';
+                case 10 -> c == 'T';
+                case 13, 16 -> c == ':';
+                case 19 -> c == 'Z';
+                default -> c >= '0' && c <= '9';
+            };
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Epoch seconds of a value already matching {@link #isInstantFormat}, or null if it is not a real date and time.
+     */
+    static Long toEpochSecond(String value) {
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        return epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        // same as NotBlank's trim(): every char up to and including space is whitespace
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCurrencyCode(String value) {
+        if (value.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = value.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // same rule as Hibernate Validator's @Digits check: trailing zeros count as fraction digits
+    private static boolean hasAllowedDigits(BigDecimal amount) {
+        int integerDigits = amount.precision() - amount.scale();
+        int fractionDigits = Math.max(amount.scale(), 0);
+        return integerDigits <= MAX_INTEGER_DIGITS && fractionDigits <= MAX_FRACTION_DIGITS;
+    }
+
+    private static int digits(String value, int from, int count) {
+        int result = 0;
+        for (int i = from; i < from + count; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    // days since 1970-01-01 in the proleptic Gregorian calendar (Hinnant's days_from_civil)
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    private static List<Map<String, String>> add(List<Map<String, String>> errors, String property, String message) {
+        List<Map<String, String>> result = errors != null ? errors : new ArrayList<>(2);
+        result.add(error(property, message));
+        return result;
+    }
+
+    private static Map<String, String> error(String property, String message) {
+        return Map.of(
+                "property", property,
+                "message", message
+        );
+    }
+
+    /**
+     * @param errorsGroupedByIndex errors of the first invalid deals, by list index
+     */
+    public record ValidatedDeals(List<DealDto> validDeals, List<String> invalidDeals,
+                                 Map<String, List<Map<String, String>>> errorsGroupedByIndex) {
+    }
+}
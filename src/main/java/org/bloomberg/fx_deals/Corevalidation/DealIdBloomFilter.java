@@ -0,0 +1,149 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over deal ids.
+ * {@link #mightContain} never returns false for an id that was {@link #put}; it returns true for an id
+ * that was never added with roughly the configured false-positive probability.
+ */
+public class DealIdBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    public DealIdBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and false-positive probability in (0, 1)");
+        }
+        long words = words(expectedInsertions, falsePositiveProbability);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter of " + words * 64 + " bits is too large");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitSize = words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * Heap taken by the bits of a filter with this sizing, computed without allocating it.
+     */
+    public static long memoryBytes(long expectedInsertions, double falsePositiveProbability) {
+        return words(expectedInsertions, falsePositiveProbability) * Long.BYTES;
+    }
+
+    /**
+     * Most ids a filter with this false-positive probability can be sized for within {@code memoryBytes}.
+     */
+    public static long maxInsertions(long memoryBytes, double falsePositiveProbability) {
+        return (long) Math.floor(memoryBytes * 8 * LN2 * LN2 / -Math.log(falsePositiveProbability));
+    }
+
+    public void put(String dealUniqueId) {
+        long hash1 = hash(dealUniqueId);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(index(hash1 + i * hash2));
+        }
+    }
+
+    public boolean mightContain(String dealUniqueId) {
+        long hash1 = hash(dealUniqueId);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = index(hash1 + i * hash2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double falsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    public long setBits() {
+        long count = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            count += Long.bitCount(bits.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Number of distinct ids added, estimated from the share of set bits (Swamidass &amp; Baldi).
+     */
+    public long approximateElementCount(long setBits) {
+        double fractionSet = (double) setBits / bitSize;
+        if (fractionSet >= 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-Math.log1p(-fractionSet) * bitSize / hashFunctions);
+    }
+
+    /**
+     * Probability that {@link #mightContain} answers true for an id that was never added, at the current fill.
+     */
+    public double currentFalsePositiveProbability(long setBits) {
+        return Math.pow((double) setBits / bitSize, hashFunctions);
+    }
+
+    private static long words(long expectedInsertions, double falsePositiveProbability) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        return Math.max(1, (optimalBits + 63) / 64);
+    }
+
+    private long index(long combinedHash) {
+        return (combinedHash & Long.MAX_VALUE) % bitSize;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 fmix64 finalizer: spreads FNV's weak high bits over the whole word
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,190 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import org.bloomberg.fx_deals.Config.DealIdFilterProperties;
+import org.bloomberg.fx_deals.Model.DTO.DealIdFilterStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bloom filter of the deal ids stored in {@code deals}, so duplicate checks can skip the database for ids
+ * that are definitely new. Only a "might contain" answer has to be confirmed with a query.
+ * <p>
+ * The filter only knows the ids loaded at startup and the ones inserted by this instance. That is safe:
+ * an id stored by another instance goes past the pre-check, but the insert itself still ignores it
+ * ({@code ON CONFLICT DO NOTHING}) and reports it as a duplicate.
+ */
+@Component
+public class DealIdFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DealIdFilter.class);
+
+    // deal_ids holds every stored id and is much narrower to scan than the deal partitions
+    private static final String LOAD_IDS_SQL = "SELECT deal_unique_id FROM deal_ids";
+    // planner estimate, kept by autovacuum: instant where count(*) would scan every id; -1 before the first analyze
+    private static final String ESTIMATED_IDS_SQL = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'deal_ids'::regclass";
+
+    private final DealIdFilterProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // null until the first load completes; until then every id is checked against the database
+    private volatile DealIdBloomFilter current;
+    // filter being loaded, receives the ids inserted meanwhile so none are lost on swap
+    private volatile DealIdBloomFilter building;
+    private volatile Instant lastBuiltAt;
+    private volatile long lastBuildMillis;
+
+    public DealIdFilter(DealIdFilterProperties properties, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.isEnabled()) {
+            double fpp = properties.getFalsePositiveProbability();
+            rebuildAsync(warmUpInsertions(fpp), fpp);
+        }
+    }
+
+    /**
+     * The configured sizing, or the stored ids plus a quarter when the table has outgrown it, so a filter that
+     * would saturate (every id a possible hit) is not built. Never more than {@code max-memory} holds.
+     */
+    private long warmUpInsertions(double fpp) {
+        long insertions = properties.getExpectedInsertions();
+        try {
+            Long estimatedIds = jdbcTemplate.queryForObject(ESTIMATED_IDS_SQL, Long.class);
+            if (estimatedIds != null && estimatedIds + estimatedIds / 4 > insertions) {
+                insertions = estimatedIds + estimatedIds / 4;
+                logger.info("deal_ids holds about {} ids, more than the {} the filter is configured for: sizing it for {}",
+                        estimatedIds, properties.getExpectedInsertions(), insertions);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not estimate the number of stored deal ids: {}", e.getMessage());
+        }
+        long maxInsertions = DealIdBloomFilter.maxInsertions(properties.getMaxMemory().toBytes(), fpp);
+        if (insertions > maxInsertions) {
+            logger.warn("A filter for {} ids at {} would exceed max-memory {}: sizing it for {}, its false-positive "
+                    + "rate will rise as it fills", insertions, fpp, properties.getMaxMemory(), maxInsertions);
+            insertions = maxInsertions;
+        }
+        return Math.max(1, insertions);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * @return false only when the id is definitely not stored; true when it may be (or the filter is not loaded yet)
+     */
+    public boolean mightExist(String dealUniqueId) {
+        DealIdBloomFilter filter = current;
+        return filter == null || filter.mightContain(dealUniqueId);
+    }
+
+    public void recordInserted(Collection<String> dealUniqueIds) {
+        DealIdBloomFilter filter = current;
+        DealIdBloomFilter pending = building;
+        for (String id : dealUniqueIds) {
+            if (filter != null) {
+                filter.put(id);
+            }
+            if (pending != null) {
+                pending.put(id);
+            }
+        }
+    }
+
+    /**
+     * Loads a new filter with the given sizing in the background and swaps it in when done.
+     * The current filter keeps serving meanwhile.
+     *
+     * @return false if a rebuild is already running
+     * @throws IllegalArgumentException when the filter would take more than {@code max-memory}
+     */
+    public boolean rebuildAsync(long expectedInsertions, double falsePositiveProbability) {
+        long memoryBytes = DealIdBloomFilter.memoryBytes(expectedInsertions, falsePositiveProbability);
+        if (memoryBytes > properties.getMaxMemory().toBytes()) {
+            throw new IllegalArgumentException("A filter for " + expectedInsertions + " ids at " + falsePositiveProbability
+                    + " takes " + memoryBytes / (1024 * 1024) + " MB, more than max-memory " + properties.getMaxMemory());
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        DealIdBloomFilter filter;
+        try {
+            filter = new DealIdBloomFilter(expectedInsertions, falsePositiveProbability);
+        } catch (RuntimeException | OutOfMemoryError e) {
+            rebuilding.set(false);
+            throw e;
+        }
+        Thread.ofPlatform().name("deal-id-filter-rebuild").daemon().start(() -> rebuild(filter));
+        return true;
+    }
+
+    private void rebuild(DealIdBloomFilter filter) {
+        Instant start = Instant.now();
+        try {
+            building = filter;
+            long[] loaded = {0};
+            // PostgreSQL only streams with a fetch size inside a transaction, otherwise the whole table is buffered
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(LOAD_IDS_SQL);
+                statement.setFetchSize(properties.getWarmUpFetchSize());
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                filter.put(rs.getString(1));
+                loaded[0]++;
+            }));
+            current = filter;
+            lastBuiltAt = Instant.now();
+            lastBuildMillis = Duration.between(start, lastBuiltAt).toMillis();
+            logger.info("Deal id filter loaded with {} ids in {} ms ({} bits, {} hash functions)",
+                    loaded[0], lastBuildMillis, filter.bitSize(), filter.hashFunctions());
+        } catch (Exception e) {
+            logger.error("Failed to load deal id filter: {}", e.getMessage(), e);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    public DealIdFilterStatsDto stats() {
+        DealIdBloomFilter filter = current;
+        DealIdFilterStatsDto.DealIdFilterStatsDtoBuilder stats = DealIdFilterStatsDto.builder()
+                .enabled(properties.isEnabled())
+                .ready(filter != null)
+                .rebuilding(rebuilding.get())
+                .lastBuiltAt(lastBuiltAt)
+                .lastBuildMillis(lastBuildMillis);
+        if (filter != null) {
+            long setBits = filter.setBits();
+            stats.expectedInsertions(filter.expectedInsertions())
+                    .configuredFalsePositiveProbability(filter.falsePositiveProbability())
+                    .currentFalsePositiveProbability(filter.currentFalsePositiveProbability(setBits))
+                    .bitSize(filter.bitSize())
+                    .memoryBytes(filter.bitSize() / 8)
+                    .hashFunctions(filter.hashFunctions())
+                    .approximateElementCount(filter.approximateElementCount(setBits));
+        }
+        return stats.build();
+    }
+}
@@ -0,0 +1,29 @@
+package org.bloomberg.fx_deals.Exceptions;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raised by {@code DealDtoValidator} with the errors already grouped by list index,
+ * in the shape {@link GlobalHandler} returns for Bean Validation errors.
+ */
+@Getter
+public class DealValidationException extends RuntimeException {
+
+    private final Map<String, List<Map<String, String>>> errorsGroupedByIndex;
+
+    // may exceed the size of errorsGroupedByIndex when the details were capped
+    private final int invalidDeals;
+
+    public DealValidationException(Map<String, List<Map<String, String>>> errorsGroupedByIndex) {
+        this(errorsGroupedByIndex, errorsGroupedByIndex.size());
+    }
+
+    public DealValidationException(Map<String, List<Map<String, String>>> errorsGroupedByIndex, int invalidDeals) {
+        super("Validation failed for " + invalidDeals + " deal(s)");
+        this.errorsGroupedByIndex = errorsGroupedByIndex;
+        this.invalidDeals = invalidDeals;
+    }
+}
@@ -1,18 +1,22 @@
 package org.bloomberg.fx_deals.Exceptions;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.*;
@@ -22,6 +26,9 @@ import java.util.regex.Pattern;
 @RestControllerAdvice
 public class GlobalHandler {
 
+    // splits a binding path like "dealDtos[0].dealUniqueId" into the list index and the property
+    private static final Pattern INDEXED_PROPERTY = Pattern.compile(".*\\[(\\d+)\\]\\.(.+)");
+
     /**
      * Handles validation errors from @Valid annotated DTOs in request bodies.
      * Returns a structured JSON with errors grouped by list index and field.
@@ -36,9 +43,7 @@ public class GlobalHandler {
             String index = "unknown";
             String property = field;
 
-            // Regex to extract index from something like "dealDtos[0].dealUniqueId"
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(".*\\[(\\d+)\\]\\.(.+)");
-            java.util.regex.Matcher matcher = pattern.matcher(field);
+            Matcher matcher = INDEXED_PROPERTY.matcher(field);
 
             if (matcher.matches()) {
                 index = matcher.group(1);       // e.g. "0"
@@ -77,9 +82,7 @@ public class GlobalHandler {
             String index = "unknown";
             String property = path;
 
-            // Extract index and property name using regex
-            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(".*\\[(\\d+)\\]\\.(.+)");
-            java.util.regex.Matcher matcher = pattern.matcher(path);
+            Matcher matcher = INDEXED_PROPERTY.matcher(path);
 
             if (matcher.matches()) {
                 index = matcher.group(1);
@@ -105,6 +108,25 @@ public class GlobalHandler {
     }
 
 
+    /**
+     * Handles errors found by DealDtoValidator on the import endpoints.
+     * Same response as the Bean Validation handlers above, plus the number of invalid deals
+     * since only the first ones are detailed.
+     */
+    @ExceptionHandler(DealValidationException.class)
+    public ResponseEntity<Object> handleDealValidationException(DealValidationException ex) {
+        Map<String, Object> responseBody = Map.of(
+                "timestamp", Instant.now(),
+                "type", "Validation Error",
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "invalidDeals", ex.getInvalidDeals(),
+                "errors", ex.getErrorsGroupedByIndex()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(responseBody);
+    }
+
+
     // The rest of your existing handlers remain unchanged
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Object> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
@@ -117,6 +139,91 @@ public class GlobalHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    // raised by the streaming import when the body is not a JSON array of deals
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Object> handleJsonProcessingException(JsonProcessingException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Malformed Request",
+                "Request body is malformed: " + ex.getOriginalMessage(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<Object> handleImportQueueFullException(ImportQueueFullException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Service Unavailable",
+                ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(errorDetails);
+    }
+
+    @ExceptionHandler(InvalidDealQueryException.class)
+    public ResponseEntity<Object> handleInvalidDealQueryException(InvalidDealQueryException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Invalid Query",
+                ex.getMessage(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    // query parameters that cannot be converted, e.g. from=yesterday or minAmount=abc
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Object> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Invalid Query",
+                "Invalid value for parameter '" + ex.getName() + "'",
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Object> handleMissingServletRequestParameterException(MissingServletRequestParameterException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Invalid Query",
+                "Missing required parameter '" + ex.getParameterName() + "'",
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Object> handleIdempotencyConflictException(IdempotencyConflictException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Idempotency Conflict",
+                ex.getMessage(),
+                ex.getStatus().value()
+        );
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatus());
+        if (ex.getStatus() == HttpStatus.CONFLICT) {
+            response.header(HttpHeaders.RETRY_AFTER, "5");
+        }
+        return response.body(errorDetails);
+    }
+
+    @ExceptionHandler(InvalidCsvException.class)
+    public ResponseEntity<Object> handleInvalidCsvException(InvalidCsvException ex) {
+        ApiError errorDetails = new ApiError(
+                Instant.now(),
+                "Malformed CSV",
+                ex.getMessage(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Object> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
         ApiError errorDetails = new ApiError(
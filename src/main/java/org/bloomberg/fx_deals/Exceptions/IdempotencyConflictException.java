@@ -0,0 +1,19 @@
+package org.bloomberg.fx_deals.Exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an import request cannot be answered from, or recorded under, its idempotency key:
+ * the key was used for a different payload, or the first request is still running.
+ */
+@Getter
+public class IdempotencyConflictException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotencyConflictException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
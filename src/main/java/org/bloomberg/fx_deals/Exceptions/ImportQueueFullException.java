@@ -0,0 +1,17 @@
+package org.bloomberg.fx_deals.Exceptions;
+
+/**
+ * Thrown when an asynchronous import cannot be queued because every worker is busy and the queue is full,
+ * either in jobs or in deals.
+ */
+public class ImportQueueFullException extends RuntimeException {
+
+    public ImportQueueFullException(int queueCapacity) {
+        super("Import queue is full (" + queueCapacity + " jobs waiting). Please retry later.");
+    }
+
+    public ImportQueueFullException(int queuedDeals, int maxQueuedDeals) {
+        super("Import queue is full (" + queuedDeals + " of " + maxQueuedDeals
+                + " deals waiting or running). Please retry later.");
+    }
+}
@@ -0,0 +1,12 @@
+package org.bloomberg.fx_deals.Exceptions;
+
+/**
+ * Thrown when a CSV import cannot be read at all, e.g. its header lacks a column.
+ * Malformed rows do not throw: they are reported in the import result.
+ */
+public class InvalidCsvException extends RuntimeException {
+
+    public InvalidCsvException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.bloomberg.fx_deals.Exceptions;
+
+/**
+ * Thrown when the filters or the cursor of a deal query cannot be used.
+ */
+public class InvalidDealQueryException extends RuntimeException {
+
+    public InvalidDealQueryException(String message) {
+        super(message);
+    }
+}
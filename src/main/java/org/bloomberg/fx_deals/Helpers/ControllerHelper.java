@@ -1,7 +1,11 @@
 package org.bloomberg.fx_deals.Helpers;
 
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class ControllerHelper {
 
@@ -24,5 +28,32 @@ public class ControllerHelper {
         }
     }
 
+    /**
+     * The message of every import response format: the notification followed by the counts.
+     */
+    public String importMessage(int success, int failed, int duplicates) {
+        return getUserNotification(success, failed, duplicates) +
+                " | Success: " + success +
+                " | Failed: " + failed +
+                " | Duplicates: " + duplicates;
+    }
+
+    /**
+     * The body of an import response: the notification with the counts, and every deal id by outcome.
+     */
+    public Map<String, Object> buildImportBody(ImportResultDto result) {
+        List<String> duplicateIds = result.getDuplicateDeals();
+
+        String message = importMessage(result.getSuccessfulDeals().size(), result.getFailedDeals().size(),
+                duplicateIds.size());
+
+        return Map.of(
+                "message", message,
+                "successfulDeals", result.getSuccessfulDeals(),
+                "failedDeals", result.getFailedDeals(),
+                "duplicateDeals", duplicateIds
+        );
+    }
+
 
 }
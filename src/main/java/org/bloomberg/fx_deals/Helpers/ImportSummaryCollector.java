@@ -0,0 +1,70 @@
+package org.bloomberg.fx_deals.Helpers;
+
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.bloomberg.fx_deals.Service.ImportChunkListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the summary import response ({@code summary=true}): the counts of the JSON response plus the first
+ * {@code fxdeals.import.summary-sample-size} ids of each outcome. Fed chunk by chunk, it holds no more than
+ * the samples whatever the import size.
+ */
+public class ImportSummaryCollector implements ImportChunkListener {
+
+    private final ControllerHelper controllerHelper;
+    private final int sampleSize;
+
+    private int successCount;
+    private int failCount;
+    private int dupCount;
+    private final List<String> successfulSample = new ArrayList<>();
+    private final List<String> failedSample = new ArrayList<>();
+    private final List<String> duplicateSample = new ArrayList<>();
+
+    public ImportSummaryCollector(ControllerHelper controllerHelper, int sampleSize) {
+        this.controllerHelper = controllerHelper;
+        this.sampleSize = Math.max(0, sampleSize);
+    }
+
+    public ImportSummaryCollector add(ImportResultDto result) {
+        onChunk(result.getSuccessfulDeals(), result.getFailedDeals(), result.getDuplicateDeals());
+        return this;
+    }
+
+    @Override
+    public void onChunk(List<String> successfulDeals, List<String> failedDeals, List<String> duplicateDeals) {
+        successCount += successfulDeals.size();
+        failCount += failedDeals.size();
+        dupCount += duplicateDeals.size();
+        sample(successfulDeals, successfulSample);
+        sample(failedDeals, failedSample);
+        sample(duplicateDeals, duplicateSample);
+    }
+
+    public int dealCount() {
+        return successCount + failCount + dupCount;
+    }
+
+    public Map<String, Object> toBody() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", controllerHelper.importMessage(successCount, failCount, dupCount));
+        body.put("successCount", successCount);
+        body.put("failCount", failCount);
+        body.put("duplicateCount", dupCount);
+        body.put("successfulDealsSample", successfulSample);
+        body.put("failedDealsSample", failedSample);
+        body.put("duplicateDealsSample", duplicateSample);
+        return body;
+    }
+
+    private void sample(List<String> ids, List<String> sample) {
+        int missing = sampleSize - sample.size();
+        if (missing > 0 && !ids.isEmpty()) {
+            sample.addAll(ids.subList(0, Math.min(missing, ids.size())));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.bloomberg.fx_deals.Helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Service.ImportChunkListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes an {@code application/x-ndjson} import response: one line per committed chunk,
+ * then a summary line. Only the running counts are kept, never the id lists.
+ */
+public class NdjsonImportWriter implements ImportChunkListener {
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+    private final ControllerHelper controllerHelper;
+
+    private int chunks;
+    private int successCount;
+    private int failCount;
+    private int dupCount;
+
+    public NdjsonImportWriter(OutputStream out, ObjectMapper objectMapper, ControllerHelper controllerHelper) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+        this.controllerHelper = controllerHelper;
+    }
+
+    @Override
+    public void onChunk(List<String> successfulDeals, List<String> failedDeals, List<String> duplicateDeals) throws IOException {
+        chunks++;
+        successCount += successfulDeals.size();
+        failCount += failedDeals.size();
+        dupCount += duplicateDeals.size();
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "chunk");
+        line.put("chunk", chunks);
+        line.put("successfulDeals", successfulDeals);
+        line.put("failedDeals", failedDeals);
+        line.put("duplicateDeals", duplicateDeals);
+        writeLine(line);
+    }
+
+    /**
+     * Deals reported so far, whatever their outcome.
+     */
+    public int dealCount() {
+        return successCount + failCount + dupCount;
+    }
+
+    /**
+     * Reports an error that stopped the import after the response was committed.
+     * Chunks reported before it stay saved.
+     */
+    public void writeError(String message) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "error");
+        line.put("message", message);
+        writeLine(line);
+    }
+
+    /**
+     * Writes the closing summary line, with the same message the JSON response carries.
+     */
+    public void writeSummary() throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "summary");
+        line.put("message", controllerHelper.importMessage(successCount, failCount, dupCount));
+        line.put("chunks", chunks);
+        line.put("successCount", successCount);
+        line.put("failCount", failCount);
+        line.put("duplicateCount", dupCount);
+        writeLine(line);
+    }
+
+    private void writeLine(Map<String, Object> line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write(NEW_LINE);
+        // push the line to the client now instead of when the buffer fills up
+        out.flush();
+    }
+}
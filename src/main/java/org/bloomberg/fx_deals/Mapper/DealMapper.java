@@ -1,11 +1,30 @@
 package org.bloomberg.fx_deals.Mapper;
 
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodes;
 import org.bloomberg.fx_deals.Model.DTO.DealDto;
 import org.bloomberg.fx_deals.Model.Entity.Deal;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+import java.time.Instant;
+
+@Mapper(componentModel = "spring", imports = CurrencyCodes.class)
 public interface DealMapper {
+    // shared currency strings, so the entities of a large batch do not keep the parsed JSON strings alive
+    @Mapping(target = "fromCurrencyIsoCode", expression = "java(CurrencyCodes.canonical(dealDto.getFromCurrencyIsoCode()))")
+    @Mapping(target = "toCurrencyIsoCode", expression = "java(CurrencyCodes.canonical(dealDto.getToCurrencyIsoCode()))")
+    @Mapping(target = "dealTimestamp", expression = "java(dealInstant(dealDto))")
+    @Mapping(target = "currencyPairId", ignore = true)
     Deal toEntity(DealDto dealDto);
+
+    @Mapping(target = "dealEpochSecond", ignore = true)
     DealDto toDto(Deal deal);
+
+    // DealDtoValidator already parsed the timestamp while validating; only DTOs it did not see are parsed here
+    default Instant dealInstant(DealDto dealDto) {
+        if (dealDto.getDealEpochSecond() != null) {
+            return Instant.ofEpochSecond(dealDto.getDealEpochSecond());
+        }
+        return dealDto.getDealTimestamp() != null ? Instant.parse(dealDto.getDealTimestamp()) : null;
+    }
 }
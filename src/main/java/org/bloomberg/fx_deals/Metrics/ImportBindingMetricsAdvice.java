@@ -0,0 +1,56 @@
+package org.bloomberg.fx_deals.Metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Controller.DealController;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Times the JSON binding of {@code @RequestBody List<DealDto>} import payloads
+ * ({@link ImportMetrics.Stage#BINDING}). The streaming import binds deal by deal and times itself.
+ * The start time is a request attribute, so a body that fails to bind leaves nothing behind on the pooled thread.
+ */
+@ControllerAdvice(assignableTypes = DealController.class)
+@RequiredArgsConstructor
+public class ImportBindingMetricsAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String BINDING_START_ATTRIBUTE = ImportBindingMetricsAdvice.class.getName() + ".start";
+
+    private final ImportMetrics importMetrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forType(targetType);
+        return List.class.isAssignableFrom(type.toClass()) && type.getGeneric(0).toClass() == DealDto.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(BINDING_START_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        Long start = (Long) RequestContextHolder.currentRequestAttributes()
+                .getAttribute(BINDING_START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (start != null) {
+            importMetrics.recordStage(ImportMetrics.Stage.BINDING, System.nanoTime() - start);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,153 @@
+package org.bloomberg.fx_deals.Metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the import pipeline, scraped from {@code /actuator/prometheus}.
+ * <ul>
+ *     <li>{@code fxdeals.import.stage{stage}}: time spent per stage (binding, validation, duplicate check, persist)</li>
+ *     <li>{@code fxdeals.import.deals{outcome}}: deals stored, failed and skipped as duplicates</li>
+ *     <li>{@code fxdeals.import.db.round.trips{operation}}: statements sent to the database</li>
+ *     <li>{@code fxdeals.import.write.batch.size}: deals per write statement</li>
+ *     <li>{@code fxdeals.import.duration}, {@code fxdeals.import.request.size} and
+ *     {@code fxdeals.import.db.round.trips.per.import}, per {@code mode}: one sample per import</li>
+ * </ul>
+ * Per-import figures are collected by the {@link ImportScope} opened on the importing thread.
+ */
+@Component
+public class ImportMetrics {
+
+    public enum Stage {
+        BINDING, VALIDATION, DUPLICATE_CHECK, PERSIST
+    }
+
+    public enum RoundTrip {
+        LOOKUP, INSERT, STAGING, COPY, MERGE
+    }
+
+    private static final double[] SIZE_BUCKETS = {1, 10, 100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 1_000_000};
+
+    private static final ThreadLocal<ImportScope> currentImport = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<RoundTrip, Counter> roundTripCounters = new EnumMap<>(RoundTrip.class);
+    private final Counter successfulDeals;
+    private final Counter failedDeals;
+    private final Counter duplicateDeals;
+    private final DistributionSummary writeBatchSize;
+
+    public ImportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("fxdeals.import.stage")
+                    .description("Time spent in one stage of the import pipeline")
+                    .tag("stage", tagValue(stage))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (RoundTrip operation : RoundTrip.values()) {
+            roundTripCounters.put(operation, Counter.builder("fxdeals.import.db.round.trips")
+                    .description("Statements sent to the database by imports")
+                    .tag("operation", tagValue(operation))
+                    .register(registry));
+        }
+        successfulDeals = outcomeCounter("success");
+        failedDeals = outcomeCounter("failed");
+        duplicateDeals = outcomeCounter("duplicate");
+        writeBatchSize = DistributionSummary.builder("fxdeals.import.write.batch.size")
+                .description("Deals sent in one write statement")
+                .serviceLevelObjectives(SIZE_BUCKETS)
+                .register(registry);
+    }
+
+    /**
+     * Opens the per-import scope on the current thread; close it when the import is over.
+     */
+    public ImportScope startImport(String mode) {
+        ImportScope scope = new ImportScope(mode);
+        currentImport.set(scope);
+        return scope;
+    }
+
+    public void recordStage(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOutcome(int successful, int failed, int duplicates) {
+        successfulDeals.increment(successful);
+        failedDeals.increment(failed);
+        duplicateDeals.increment(duplicates);
+        ImportScope scope = currentImport.get();
+        if (scope != null) {
+            scope.deals += successful + failed + duplicates;
+        }
+    }
+
+    public void recordWriteBatch(int deals) {
+        writeBatchSize.record(deals);
+    }
+
+    public void recordRoundTrip(RoundTrip operation) {
+        roundTripCounters.get(operation).increment();
+        ImportScope scope = currentImport.get();
+        if (scope != null) {
+            scope.roundTrips++;
+        }
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("fxdeals.import.deals")
+                .description("Deals processed by imports, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    public final class ImportScope implements AutoCloseable {
+
+        private final String mode;
+        private final long startNanos = System.nanoTime();
+        private int deals;
+        private int roundTrips;
+
+        private ImportScope(String mode) {
+            this.mode = mode;
+        }
+
+        @Override
+        public void close() {
+            currentImport.remove();
+            Timer.builder("fxdeals.import.duration")
+                    .description("Wall time of one import")
+                    .tag("mode", mode)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("fxdeals.import.request.size")
+                    .description("Deals received by one import")
+                    .tag("mode", mode)
+                    .serviceLevelObjectives(SIZE_BUCKETS)
+                    .register(registry)
+                    .record(deals);
+            DistributionSummary.builder("fxdeals.import.db.round.trips.per.import")
+                    .description("Statements sent to the database by one import")
+                    .tag("mode", mode)
+                    .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100, 500, 1_000)
+                    .register(registry)
+                    .record(roundTrips);
+        }
+    }
+}
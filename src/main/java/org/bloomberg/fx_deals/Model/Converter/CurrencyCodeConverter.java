@@ -0,0 +1,21 @@
+package org.bloomberg.fx_deals.Model.Converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a three-letter currency code as its {@link CurrencyCodes} smallint.
+ */
+@Converter
+public class CurrencyCodeConverter implements AttributeConverter<String, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(String alpha) {
+        return alpha == null ? null : CurrencyCodes.toCode(alpha);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code == null ? null : CurrencyCodes.toAlpha(code);
+    }
+}
@@ -0,0 +1,151 @@
+package org.bloomberg.fx_deals.Model.Converter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact numeric form of the three-letter currency codes stored in {@code deals}.
+ * ISO 4217 codes map to their ISO numeric code (1-999, listed in {@code currency/iso4217.csv});
+ * any other three uppercase letters, which the API accepts as well, map to 1000 + their base-26 value.
+ * Every code fits a {@code smallint}, and decoding returns one shared String instance per currency.
+ */
+public final class CurrencyCodes {
+
+    private static final String TABLE = "/currency/iso4217.csv";
+    private static final int LETTER_COMBINATIONS = 26 * 26 * 26;
+    private static final int FALLBACK_OFFSET = 1000;
+
+    public static final int MAX_CODE = FALLBACK_OFFSET + LETTER_COMBINATIONS - 1;
+
+    // every code is below 2^15, so a pair id is the two codes side by side
+    public static final int PAIR_TO_MASK = (1 << 15) - 1;
+
+    // indexed by numeric code; non-ISO entries are filled on first use
+    private static final String[] ALPHA_BY_CODE = new String[MAX_CODE + 1];
+    // indexed by the base-26 value of the letters
+    private static final short[] CODE_BY_LETTERS = new short[LETTER_COMBINATIONS];
+
+    static {
+        loadIsoTable();
+        for (int letters = 0; letters < LETTER_COMBINATIONS; letters++) {
+            if (CODE_BY_LETTERS[letters] == 0) {
+                CODE_BY_LETTERS[letters] = (short) (FALLBACK_OFFSET + letters);
+            }
+        }
+    }
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the value is not three uppercase ASCII letters
+     */
+    public static short toCode(String alpha) {
+        return CODE_BY_LETTERS[letters(alpha)];
+    }
+
+    /**
+     * @throws IllegalArgumentException when no currency has this code
+     */
+    public static String toAlpha(int code) {
+        if (code < 1 || code > MAX_CODE) {
+            throw new IllegalArgumentException("Unknown currency code: " + code);
+        }
+        String alpha = ALPHA_BY_CODE[code];
+        if (alpha == null) {
+            if (code < FALLBACK_OFFSET) {
+                throw new IllegalArgumentException("Unknown currency code: " + code);
+            }
+            // racing threads may each build the string once; either instance is a valid value
+            alpha = fromLetters(code - FALLBACK_OFFSET);
+            ALPHA_BY_CODE[code] = alpha;
+        }
+        return alpha;
+    }
+
+    /**
+     * The shared instance for this currency, or the value itself when it is not a currency code.
+     */
+    public static String canonical(String alpha) {
+        if (alpha == null || alpha.length() != 3) {
+            return alpha;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = alpha.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return alpha;
+            }
+        }
+        return toAlpha(toCode(alpha));
+    }
+
+    /**
+     * Single integer for a currency pair, the value of the {@code currency_pair_id} column.
+     */
+    public static int pairId(short fromCode, short toCode) {
+        return fromCode << 15 | toCode;
+    }
+
+    /**
+     * First currency of a {@link #pairId}.
+     */
+    public static short pairFrom(int pairId) {
+        return (short) (pairId >>> 15);
+    }
+
+    /**
+     * Second currency of a {@link #pairId}.
+     */
+    public static short pairTo(int pairId) {
+        return (short) (pairId & PAIR_TO_MASK);
+    }
+
+    private static int letters(String alpha) {
+        if (alpha == null || alpha.length() != 3) {
+            throw new IllegalArgumentException("Currency code must be 3 uppercase letters: " + alpha);
+        }
+        int value = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = alpha.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                throw new IllegalArgumentException("Currency code must be 3 uppercase letters: " + alpha);
+            }
+            value = value * 26 + (c - 'A');
+        }
+        return value;
+    }
+
+    private static String fromLetters(int value) {
+        return new String(new char[]{
+                (char) ('A' + value / 676), (char) ('A' + value / 26 % 26), (char) ('A' + value % 26)});
+    }
+
+    private static void loadIsoTable() {
+        try (InputStream in = CurrencyCodes.class.getResourceAsStream(TABLE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing currency table " + TABLE);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                String alpha = line.substring(0, comma).trim();
+                int code = Integer.parseInt(line.substring(comma + 1).trim());
+                if (code < 1 || code >= FALLBACK_OFFSET || ALPHA_BY_CODE[code] != null) {
+                    throw new IllegalStateException("Invalid or repeated numeric code in " + TABLE + ": " + line);
+                }
+                ALPHA_BY_CODE[code] = alpha.intern();
+                CODE_BY_LETTERS[letters(alpha)] = (short) code;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
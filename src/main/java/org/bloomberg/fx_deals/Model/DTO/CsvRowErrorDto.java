@@ -0,0 +1,17 @@
+package org.bloomberg.fx_deals.Model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A CSV row that could not be imported, by its line number in the uploaded file (the header is line 1).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvRowErrorDto {
+    private long line;
+    private String dealUniqueId;
+    private String message;
+}
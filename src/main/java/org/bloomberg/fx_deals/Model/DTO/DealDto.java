@@ -1,5 +1,6 @@
 package org.bloomberg.fx_deals.Model.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -35,4 +36,10 @@ public class DealDto {
     @DecimalMin(value = "0.01", message = "Deal Amount must be greater than zero")
     @Digits(integer = 15, fraction = 2, message = "Deal Amount must have at most 15 digits and 2 decimal places")
     private BigDecimal dealAmountInOrderingCurrency;
+
+    // filled by DealDtoValidator while it checks dealTimestamp, so the mapper does not parse it again
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long dealEpochSecond;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.bloomberg.fx_deals.Model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealIdFilterStatsDto {
+    private boolean enabled;
+    private boolean ready;
+    private boolean rebuilding;
+    private long expectedInsertions;
+    private double configuredFalsePositiveProbability;
+    private double currentFalsePositiveProbability;
+    private long bitSize;
+    private long memoryBytes;
+    private int hashFunctions;
+    private long approximateElementCount;
+    private Instant lastBuiltAt;
+    private long lastBuildMillis;
+}
@@ -0,0 +1,18 @@
+package org.bloomberg.fx_deals.Model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of deals ordered by {@code (dealTimestamp, dealUniqueId)}. {@code nextCursor} is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealPageDto {
+    private List<DealDto> deals;
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package org.bloomberg.fx_deals.Model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Filters of {@code GET /api/deals}. Every filter is optional; the timestamp range is
+ * {@code [from, to)} and the amount range is inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealSearchCriteria {
+    private Instant from;
+    private Instant to;
+    private String fromCurrency;
+    private String toCurrency;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+}
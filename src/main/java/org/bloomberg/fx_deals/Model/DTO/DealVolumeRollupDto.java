@@ -0,0 +1,21 @@
+package org.bloomberg.fx_deals.Model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealVolumeRollupDto {
+    private Instant bucketStart;
+    private String fromCurrencyIsoCode;
+    private String toCurrencyIsoCode;
+    private long dealCount;
+    private BigDecimal totalAmount;
+}
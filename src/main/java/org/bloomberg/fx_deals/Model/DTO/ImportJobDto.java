@@ -0,0 +1,37 @@
+package org.bloomberg.fx_deals.Model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobDto {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private Status status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    private int totalDeals;
+    private int processedDeals;
+    private int successCount;
+    private int failCount;
+    private int duplicateCount;
+
+    // only set once the job is COMPLETED
+    private ImportResultDto result;
+
+    // only set once the job is FAILED
+    private String error;
+}
@@ -12,5 +12,10 @@ import java.util.List;
 public class ImportResultDto {
     private List<String> successfulDeals;
     private List<String> failedDeals;
+    private List<String> duplicateDeals;
+
+    public ImportResultDto(List<String> successfulDeals, List<String> failedDeals) {
+        this(successfulDeals, failedDeals, List.of());
+    }
 }
 
@@ -2,6 +2,7 @@ package org.bloomberg.fx_deals.Model.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodeConverter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -9,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "deals")
+// keyset pagination of GET /api/deals seeks on (deal_timestamp, deal_unique_id), see DealQueryRepository
+@Table(name = "deals", indexes = {
+        @Index(name = "idx_deals_timestamp_id", columnList = "deal_timestamp, deal_unique_id"),
+        @Index(name = "idx_deals_pair_timestamp_id", columnList = "currency_pair_id, deal_timestamp, deal_unique_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,12 +26,20 @@ public class Deal {
     @Column(name = "deal_unique_id", nullable = false, unique = true, length = 255)
     private String dealUniqueId;
 
-    @Column(name = "from_currency_iso_code", nullable = false, length = 3)
+    // ISO 4217 numeric code (smallint) instead of varchar(3), see CurrencyCodes
+    @Convert(converter = CurrencyCodeConverter.class)
+    @Column(name = "from_currency_iso_code", nullable = false)
     private String fromCurrencyIsoCode;
 
-    @Column(name = "to_currency_iso_code", nullable = false, length = 3)
+    @Convert(converter = CurrencyCodeConverter.class)
+    @Column(name = "to_currency_iso_code", nullable = false)
     private String toCurrencyIsoCode;
 
+    // computed by PostgreSQL from the two codes, see CurrencyCodes#pairId
+    @Column(name = "currency_pair_id", insertable = false, updatable = false, columnDefinition =
+            "integer GENERATED ALWAYS AS ((from_currency_iso_code::integer << 15) | to_currency_iso_code) STORED")
+    private Integer currencyPairId;
+
     @Column(name = "deal_timestamp", nullable = false)
     private Instant dealTimestamp;       // Deal timestamp
 
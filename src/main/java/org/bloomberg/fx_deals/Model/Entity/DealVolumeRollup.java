@@ -0,0 +1,55 @@
+package org.bloomberg.fx_deals.Model.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Deal count and traded volume of one currency pair in one UTC minute, hour or day.
+ * Rows are upserted by the same statement that inserts the deals (see DealInsertSql),
+ * so dashboards read these buckets and never aggregate {@code deals}.
+ */
+@Entity
+@Table(name = "deal_volume_rollups", indexes = {
+        // bucket range of one pair; the primary key serves the range over all pairs
+        @Index(name = "idx_deal_volume_rollups_pair_bucket", columnList = "granularity, currency_pair_id, bucket_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DealVolumeRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "deal_count", nullable = false)
+    private long dealCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal totalAmount;
+
+    public enum Granularity {
+        MINUTE, HOUR, DAY
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "granularity", nullable = false, length = 6)
+        private Granularity granularity;
+
+        @Column(name = "bucket_start", nullable = false)
+        private Instant bucketStart;
+
+        @Column(name = "currency_pair_id", nullable = false)
+        private Integer currencyPairId;
+    }
+}
@@ -0,0 +1,81 @@
+package org.bloomberg.fx_deals.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodes;
+import org.bloomberg.fx_deals.Model.Entity.Deal;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Plain JDBC write path for deals. Bypasses the JPA merge (SELECT + INSERT per row)
+ * that {@link DealRepository#save} does for entities with an assigned id.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealBatchRepository {
+
+    private static final String VALUES_PREFIX = "VALUES ";
+    // the row's ordinal is a literal, so it costs no bind parameter and the SQL still only depends on the row count
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ";
+
+    private static final int COLUMNS_PER_ROW = 6;
+
+    /**
+     * PostgreSQL accepts at most 65535 bind parameters per statement.
+     */
+    public static final int MAX_ROWS_PER_STATEMENT = 65535 / COLUMNS_PER_ROW;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImportMetrics importMetrics;
+
+    /**
+     * Inserts all deals with a single statement in its own transaction, which also adds them to the
+     * volume rollups (see {@link DealInsertSql}).
+     * Rows whose id is already stored are skipped by the database.
+     *
+     * @return ids of the rows actually inserted; ids missing from it were duplicates
+     */
+    public List<String> insertIgnoringDuplicates(List<Deal> deals) {
+        if (deals.isEmpty()) {
+            return List.of();
+        }
+        OffsetDateTime createdAt = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.INSERT);
+        return jdbcTemplate.query(insertSql(deals.size()),
+                ps -> bindDeals(ps, deals, createdAt),
+                (rs, rowNum) -> rs.getString(1));
+    }
+
+    private static void bindDeals(PreparedStatement ps, List<Deal> deals, OffsetDateTime createdAt) throws SQLException {
+        int i = 1;
+        for (Deal deal : deals) {
+            ps.setString(i++, deal.getDealUniqueId());
+            ps.setShort(i++, CurrencyCodes.toCode(deal.getFromCurrencyIsoCode()));
+            ps.setShort(i++, CurrencyCodes.toCode(deal.getToCurrencyIsoCode()));
+            ps.setObject(i++, OffsetDateTime.ofInstant(deal.getDealTimestamp(), ZoneOffset.UTC));
+            ps.setBigDecimal(i++, deal.getDealAmountInOrderingCurrency());
+            ps.setObject(i++, createdAt);
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(VALUES_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 9));
+        sql.append(VALUES_PREFIX);
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS).append(r).append(')');
+        }
+        return DealInsertSql.insertFrom("SELECT * FROM (" + sql + ") AS v ("
+                + DealInsertSql.SOURCE_COLUMNS + ", " + DealInsertSql.ORDINAL_COLUMN + ")");
+    }
+}
@@ -0,0 +1,117 @@
+package org.bloomberg.fx_deals.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodes;
+import org.bloomberg.fx_deals.Model.Entity.Deal;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk write path for very large imports: streams deals with PostgreSQL COPY into a
+ * per-connection staging table, then moves them into {@code deals} with one set-based INSERT,
+ * which also updates the volume rollups.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealCopyRepository {
+
+    // temporary tables are never WAL-logged and are private to the session, so concurrent
+    // bulk imports cannot see each other's rows; ON COMMIT DELETE ROWS empties it for the next borrower.
+    // COPY leaves ordinal to its identity, numbering the rows in the order they were sent
+    private static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE IF NOT EXISTS deals_import_staging ("
+            + "deal_unique_id varchar(255) NOT NULL, "
+            + "from_currency_iso_code smallint NOT NULL, "
+            + "to_currency_iso_code smallint NOT NULL, "
+            + "deal_timestamp timestamptz NOT NULL, "
+            + "deal_amount_in_ordering_currency numeric(17,2) NOT NULL, "
+            + "ordinal bigint GENERATED ALWAYS AS IDENTITY"
+            + ") ON COMMIT DELETE ROWS";
+
+    private static final String COPY_SQL = "COPY deals_import_staging (deal_unique_id, from_currency_iso_code, "
+            + "to_currency_iso_code, deal_timestamp, deal_amount_in_ordering_currency) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL = DealInsertSql.insertFrom("SELECT deal_unique_id, from_currency_iso_code, "
+            + "to_currency_iso_code, deal_timestamp, deal_amount_in_ordering_currency, now() AS created_at, ordinal "
+            + "FROM deals_import_staging");
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImportMetrics importMetrics;
+
+    /**
+     * Copies all deals to staging and merges them into {@code deals} in a single transaction.
+     *
+     * @return ids of the rows actually inserted; every other staged id was a duplicate
+     */
+    @Transactional
+    public Set<String> copyAndMerge(List<Deal> deals) {
+        if (deals.isEmpty()) {
+            return Set.of();
+        }
+        importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.STAGING);
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.COPY);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            copyIn(connection.unwrap(PGConnection.class), deals);
+            return null;
+        });
+        importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.MERGE);
+        return new HashSet<>(jdbcTemplate.queryForList(MERGE_SQL, String.class));
+    }
+
+    private static void copyIn(PGConnection connection, List<Deal> deals) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder rows = new StringBuilder(COPY_BUFFER_BYTES);
+            for (Deal deal : deals) {
+                appendQuoted(rows, deal.getDealUniqueId()).append(',')
+                        .append(CurrencyCodes.toCode(deal.getFromCurrencyIsoCode())).append(',')
+                        .append(CurrencyCodes.toCode(deal.getToCurrencyIsoCode())).append(',')
+                        .append(deal.getDealTimestamp()).append(',')
+                        .append(deal.getDealAmountInOrderingCurrency().toPlainString()).append('\n');
+                if (rows.length() >= COPY_BUFFER_BYTES) {
+                    write(copy, rows);
+                }
+            }
+            write(copy, rows);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder rows, String value) {
+        rows.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                rows.append('"');
+            }
+            rows.append(c);
+        }
+        return rows.append('"');
+    }
+
+    private static void write(CopyIn copy, StringBuilder rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+}
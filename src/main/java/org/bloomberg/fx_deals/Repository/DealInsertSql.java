@@ -0,0 +1,60 @@
+package org.bloomberg.fx_deals.Repository;
+
+/**
+ * The single statement both write paths use to store deals. It
+ * <ol>
+ *     <li>keeps one row per id from the source, the first one in source order ({@code candidates}),</li>
+ *     <li>claims the ids in {@code deal_ids}, the table that keeps ids unique across the monthly partitions
+ *     of {@code deals}; ids already stored are skipped by ON CONFLICT ({@code claimed}),</li>
+ *     <li>inserts the claimed deals ({@code inserted}),</li>
+ *     <li>adds them to every granularity of {@code deal_volume_rollups} ({@code rollup}),</li>
+ * </ol>
+ * and returns the ids actually inserted. Being one statement, it is atomic: a rolled back import leaves
+ * neither claims nor rollup increments behind, and duplicates are never counted.
+ */
+final class DealInsertSql {
+
+    /**
+     * Columns the source query must produce, in this order.
+     */
+    static final String SOURCE_COLUMNS = "deal_unique_id, from_currency_iso_code, to_currency_iso_code, "
+            + "deal_timestamp, deal_amount_in_ordering_currency, created_at";
+
+    // ids and buckets are locked in key order, so concurrent imports touching the same ones wait instead of deadlocking
+    private static final String CLAIM_INSERT_AND_ROLLUP = ", claimed AS ("
+            + "INSERT INTO deal_ids (deal_unique_id, deal_timestamp) "
+            + "SELECT deal_unique_id, deal_timestamp FROM candidates ORDER BY deal_unique_id "
+            + "ON CONFLICT (deal_unique_id) DO NOTHING RETURNING deal_unique_id), "
+            + "inserted AS ("
+            + "INSERT INTO deals (" + SOURCE_COLUMNS + ") "
+            + "SELECT " + SOURCE_COLUMNS + " FROM candidates JOIN claimed USING (deal_unique_id) "
+            + "RETURNING deal_unique_id, currency_pair_id, deal_timestamp, deal_amount_in_ordering_currency), "
+            + "rollup AS ("
+            + "INSERT INTO deal_volume_rollups (granularity, currency_pair_id, bucket_start, deal_count, total_amount) "
+            + "SELECT g.granularity, i.currency_pair_id, date_trunc(g.unit, i.deal_timestamp, 'UTC'), "
+            + "count(*), sum(i.deal_amount_in_ordering_currency) "
+            + "FROM inserted i CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit) "
+            + "GROUP BY 1, 2, 3 ORDER BY 1, 2, 3 "
+            + "ON CONFLICT (granularity, currency_pair_id, bucket_start) DO UPDATE SET "
+            + "deal_count = deal_volume_rollups.deal_count + EXCLUDED.deal_count, "
+            + "total_amount = deal_volume_rollups.total_amount + EXCLUDED.total_amount) "
+            + "SELECT deal_unique_id FROM inserted";
+
+    private DealInsertSql() {
+    }
+
+    /**
+     * Column the source query must produce next to {@link #SOURCE_COLUMNS}: the position of the row in the import.
+     */
+    static final String ORDINAL_COLUMN = "ordinal";
+
+    /**
+     * @param sourceSql query producing {@link #SOURCE_COLUMNS} and {@link #ORDINAL_COLUMN}; when an id appears more
+     *                  than once the row with the lowest ordinal is kept, the occurrence the import reports as saved
+     */
+    static String insertFrom(String sourceSql) {
+        return "WITH candidates AS (SELECT DISTINCT ON (deal_unique_id) " + SOURCE_COLUMNS
+                + " FROM (" + sourceSql + ") AS source ORDER BY deal_unique_id, " + ORDINAL_COLUMN + ")"
+                + CLAIM_INSERT_AND_ROLLUP;
+    }
+}
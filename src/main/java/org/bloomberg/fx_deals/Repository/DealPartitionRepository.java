@@ -0,0 +1,40 @@
+package org.bloomberg.fx_deals.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DealPartitionRepository {
+
+    // defined by the V2 migration
+    private static final String CREATE_PARTITION_SQL = "SELECT fx_create_deal_partition(?)";
+
+    private static final String DEFAULT_PARTITION_MONTHS_SQL = "SELECT DISTINCT "
+            + "date_trunc('month', deal_timestamp AT TIME ZONE 'UTC')::date FROM deals_default";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partition of {@code deals} for the given UTC month unless it exists.
+     *
+     * @return true if it was created
+     */
+    public boolean createMonthlyPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, Boolean.class, month.atDay(1)));
+    }
+
+    /**
+     * UTC months of the deals sitting in the default partition, i.e. months without a partition of their own.
+     */
+    public List<YearMonth> findMonthsInDefaultPartition() {
+        return jdbcTemplate.queryForList(DEFAULT_PARTITION_MONTHS_SQL, LocalDate.class).stream()
+                .map(YearMonth::from)
+                .toList();
+    }
+}
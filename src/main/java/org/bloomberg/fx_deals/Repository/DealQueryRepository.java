@@ -0,0 +1,99 @@
+package org.bloomberg.fx_deals.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodes;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.DealSearchCriteria;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read path of {@code GET /api/deals}: keyset pagination over {@code (deal_timestamp, deal_unique_id)}.
+ * Each page seeks past the last row of the previous one with a row-value comparison, so it is served
+ * from the {@code idx_deals_timestamp_id} (or {@code idx_deals_pair_timestamp_id}) index at the same cost
+ * whatever its depth, unlike OFFSET which reads and discards every skipped row. Timestamp bounds also let
+ * PostgreSQL skip the monthly partitions outside the range.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealQueryRepository {
+
+    private static final String SELECT = "SELECT deal_unique_id, from_currency_iso_code, to_currency_iso_code, "
+            + "deal_timestamp, deal_amount_in_ordering_currency FROM deals";
+    private static final String ORDER_BY = " ORDER BY deal_timestamp, deal_unique_id LIMIT ?";
+
+    private static final RowMapper<DealDto> DEAL_ROW_MAPPER = (rs, rowNum) -> DealDto.builder()
+            .dealUniqueId(rs.getString(1))
+            .fromCurrencyIsoCode(CurrencyCodes.toAlpha(rs.getShort(2)))
+            .toCurrencyIsoCode(CurrencyCodes.toAlpha(rs.getShort(3)))
+            .dealTimestamp(rs.getObject(4, OffsetDateTime.class).toInstant().toString())
+            .dealAmountInOrderingCurrency(rs.getBigDecimal(5))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Deals matching the criteria that sort after {@code (afterTimestamp, afterDealUniqueId)}, or from the
+     * start when {@code afterTimestamp} is null, at most {@code limit} of them.
+     */
+    public List<DealDto> findPage(DealSearchCriteria criteria, Instant afterTimestamp, String afterDealUniqueId,
+                                  int limit) {
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+
+        if (criteria.getFrom() != null) {
+            and(where, "deal_timestamp >= ?");
+            args.add(utc(criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            and(where, "deal_timestamp < ?");
+            args.add(utc(criteria.getTo()));
+        }
+        if (criteria.getFromCurrency() != null && criteria.getToCurrency() != null) {
+            // the pair index keeps (timestamp, id) order within a pair, so the seek still applies
+            and(where, "currency_pair_id = ?");
+            args.add(CurrencyCodes.pairId(CurrencyCodes.toCode(criteria.getFromCurrency()),
+                    CurrencyCodes.toCode(criteria.getToCurrency())));
+        } else if (criteria.getFromCurrency() != null) {
+            and(where, "from_currency_iso_code = ?");
+            args.add(CurrencyCodes.toCode(criteria.getFromCurrency()));
+        } else if (criteria.getToCurrency() != null) {
+            and(where, "to_currency_iso_code = ?");
+            args.add(CurrencyCodes.toCode(criteria.getToCurrency()));
+        }
+        if (criteria.getMinAmount() != null) {
+            and(where, "deal_amount_in_ordering_currency >= ?");
+            args.add(criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            and(where, "deal_amount_in_ordering_currency <= ?");
+            args.add(criteria.getMaxAmount());
+        }
+        if (afterTimestamp != null) {
+            // the row comparison alone does not prune partitions; the redundant bound skips the months already paged
+            and(where, "deal_timestamp >= ?");
+            args.add(utc(afterTimestamp));
+            and(where, "(deal_timestamp, deal_unique_id) > (?, ?)");
+            args.add(utc(afterTimestamp));
+            args.add(afterDealUniqueId);
+        }
+        args.add(limit);
+
+        return jdbcTemplate.query(SELECT + where + ORDER_BY, DEAL_ROW_MAPPER, args.toArray());
+    }
+
+    private static void and(StringBuilder where, String condition) {
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(condition);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -2,9 +2,24 @@ package org.bloomberg.fx_deals.Repository;
 
 import org.bloomberg.fx_deals.Model.Entity.Deal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface DealRepository extends JpaRepository<Deal, String> {
-    boolean existsByDealUniqueId(String dealId);
+
+    // ids are looked up in deal_ids: one index probe instead of one per monthly partition of deals
+    @Query(value = "select exists (select 1 from deal_ids where deal_unique_id = :dealId)", nativeQuery = true)
+    boolean existsByDealUniqueId(@Param("dealId") String dealId);
+
+    /**
+     * Returns the subset of the given ids that are already stored.
+     * Callers are expected to keep the collection to a bounded chunk size.
+     */
+    @Query(value = "select deal_unique_id from deal_ids where deal_unique_id in :ids", nativeQuery = true)
+    List<String> findExistingDealUniqueIds(@Param("ids") Collection<String> ids);
 }
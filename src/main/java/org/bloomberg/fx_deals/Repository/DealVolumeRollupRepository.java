@@ -0,0 +1,72 @@
+package org.bloomberg.fx_deals.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodes;
+import org.bloomberg.fx_deals.Model.DTO.DealVolumeRollupDto;
+import org.bloomberg.fx_deals.Model.Entity.DealVolumeRollup.Granularity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-pair volume buckets in {@code deal_volume_rollups}.
+ * The write side is not a method here: the buckets are bumped by the very statement that inserts the deals,
+ * see {@link DealInsertSql}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealVolumeRollupRepository {
+
+    private static final String SELECT = "SELECT bucket_start, currency_pair_id, deal_count, total_amount "
+            + "FROM deal_volume_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final RowMapper<DealVolumeRollupDto> ROLLUP_ROW_MAPPER = (rs, rowNum) -> {
+        int pairId = rs.getInt(2);
+        return DealVolumeRollupDto.builder()
+                .bucketStart(rs.getObject(1, OffsetDateTime.class).toInstant())
+                .fromCurrencyIsoCode(CurrencyCodes.toAlpha(CurrencyCodes.pairFrom(pairId)))
+                .toCurrencyIsoCode(CurrencyCodes.toAlpha(CurrencyCodes.pairTo(pairId)))
+                .dealCount(rs.getLong(3))
+                .totalAmount(rs.getBigDecimal(4))
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Buckets starting in {@code [from, to)}, ordered by bucket start then pair, at most {@code limit} of them.
+     * A null {@code fromCurrency} or {@code toCurrency} matches any currency on that side.
+     */
+    public List<DealVolumeRollupDto> findBuckets(Granularity granularity, Instant from, Instant to,
+                                                 String fromCurrency, String toCurrency, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(granularity.name());
+        args.add(OffsetDateTime.ofInstant(from, ZoneOffset.UTC));
+        args.add(OffsetDateTime.ofInstant(to, ZoneOffset.UTC));
+
+        if (fromCurrency != null && toCurrency != null) {
+            sql.append(" AND currency_pair_id = ?");
+            args.add(CurrencyCodes.pairId(CurrencyCodes.toCode(fromCurrency), CurrencyCodes.toCode(toCurrency)));
+        } else if (fromCurrency != null) {
+            // all pairs of one first currency are a contiguous id range
+            int first = CurrencyCodes.pairId(CurrencyCodes.toCode(fromCurrency), (short) 0);
+            sql.append(" AND currency_pair_id BETWEEN ? AND ?");
+            args.add(first);
+            args.add(first | CurrencyCodes.PAIR_TO_MASK);
+        } else if (toCurrency != null) {
+            sql.append(" AND (currency_pair_id & ").append(CurrencyCodes.PAIR_TO_MASK).append(") = ?");
+            args.add((int) CurrencyCodes.toCode(toCurrency));
+        }
+        sql.append(" ORDER BY bucket_start, currency_pair_id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), ROLLUP_ROW_MAPPER, args.toArray());
+    }
+}
@@ -0,0 +1,75 @@
+package org.bloomberg.fx_deals.Repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of {@code import_idempotency}. Every method is a single autocommitted statement, so rows are
+ * visible to other instances right away.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportIdempotencyRepository {
+
+    // a row past its expiry (finished result out of TTL, or a lease whose owner died) is taken over in place
+    private static final String CLAIM_SQL = "INSERT INTO import_idempotency "
+            + "(request_key, payload_hash, status, response, created_at, expires_at) "
+            + "VALUES (?, ?, 'IN_PROGRESS', NULL, now(), now() + make_interval(secs => ?)) "
+            + "ON CONFLICT (request_key) DO UPDATE SET payload_hash = EXCLUDED.payload_hash, status = 'IN_PROGRESS', "
+            + "response = NULL, created_at = now(), expires_at = EXCLUDED.expires_at "
+            + "WHERE import_idempotency.expires_at < now() "
+            + "RETURNING request_key";
+
+    private static final String FIND_SQL = "SELECT payload_hash, status = 'COMPLETED', response::text "
+            + "FROM import_idempotency WHERE request_key = ? AND expires_at >= now()";
+
+    private static final String COMPLETE_SQL = "UPDATE import_idempotency SET status = 'COMPLETED', "
+            + "response = ?::jsonb, expires_at = now() + make_interval(secs => ?) "
+            + "WHERE request_key = ? AND status = 'IN_PROGRESS'";
+
+    private static final String RELEASE_SQL = "DELETE FROM import_idempotency "
+            + "WHERE request_key = ? AND status = 'IN_PROGRESS'";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM import_idempotency WHERE expires_at < now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Marks the key as being imported by the caller for at most {@code lease}.
+     *
+     * @return false if another request holds the key, running or completed
+     */
+    public boolean claim(String requestKey, String payloadHash, Duration lease) {
+        return !jdbcTemplate.queryForList(CLAIM_SQL, String.class, requestKey, payloadHash, lease.toSeconds()).isEmpty();
+    }
+
+    public Optional<StoredRequest> find(String requestKey) {
+        List<StoredRequest> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new StoredRequest(rs.getString(1), rs.getBoolean(2), rs.getString(3)),
+                requestKey);
+        return rows.stream().findFirst();
+    }
+
+    public void complete(String requestKey, String responseJson, Duration ttl) {
+        jdbcTemplate.update(COMPLETE_SQL, responseJson, ttl.toSeconds(), requestKey);
+    }
+
+    /**
+     * Drops the claim of a request that failed, so a retry imports again.
+     */
+    public void release(String requestKey) {
+        jdbcTemplate.update(RELEASE_SQL, requestKey);
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL);
+    }
+
+    public record StoredRequest(String payloadHash, boolean completed, String response) {
+    }
+}
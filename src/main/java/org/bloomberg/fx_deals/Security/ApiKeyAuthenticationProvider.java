@@ -0,0 +1,65 @@
+package org.bloomberg.fx_deals.Security;
+
+import org.bloomberg.fx_deals.Config.AuthProperties;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Authenticates {@link ApiKeyAuthenticationToken}s against the configured keys: one SHA-256 of the presented
+ * key and a hash map lookup, a few microseconds where a password hash check takes milliseconds. Keys are
+ * looked up by their digest, so the time taken says nothing about how much of a key was right.
+ */
+public class ApiKeyAuthenticationProvider implements AuthenticationProvider {
+
+    static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_API_CLIENT"));
+
+    private final Map<String, String> nameBySha256 = new HashMap<>();
+
+    public ApiKeyAuthenticationProvider(List<AuthProperties.ApiKey> apiKeys) {
+        for (AuthProperties.ApiKey apiKey : apiKeys) {
+            String sha256 = apiKey.getSha256() == null ? "" : apiKey.getSha256().strip().toLowerCase(Locale.ROOT);
+            if (sha256.length() != 64 || !sha256.chars().allMatch(HexFormat::isHexDigit) || apiKey.getName() == null || apiKey.getName().isBlank()) {
+                throw new IllegalArgumentException("API keys need a name and the 64 hex digit SHA-256 of the key");
+            }
+            if (nameBySha256.putIfAbsent(sha256, apiKey.getName()) != null) {
+                throw new IllegalArgumentException("API key '" + apiKey.getName() + "' is configured twice");
+            }
+        }
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        String apiKey = (String) authentication.getCredentials();
+        String name = apiKey == null ? null : nameBySha256.get(sha256(apiKey));
+        if (name == null) {
+            throw new BadCredentialsException("Invalid API key");
+        }
+        return ApiKeyAuthenticationToken.authenticated(name, AUTHORITIES);
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return ApiKeyAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private static String sha256(String apiKey) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.bloomberg.fx_deals.Security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An API key as read from the request, or, once authenticated, the name it was issued to.
+ */
+public class ApiKeyAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final String name;
+    private String apiKey;
+
+    private ApiKeyAuthenticationToken(String name, String apiKey, Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.name = name;
+        this.apiKey = apiKey;
+    }
+
+    public static ApiKeyAuthenticationToken unauthenticated(String apiKey) {
+        return new ApiKeyAuthenticationToken(null, apiKey, List.of());
+    }
+
+    public static ApiKeyAuthenticationToken authenticated(String name, Collection<? extends GrantedAuthority> authorities) {
+        ApiKeyAuthenticationToken token = new ApiKeyAuthenticationToken(name, null, authorities);
+        token.setAuthenticated(true);
+        return token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return apiKey;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return name;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        super.eraseCredentials();
+        apiKey = null;
+    }
+}
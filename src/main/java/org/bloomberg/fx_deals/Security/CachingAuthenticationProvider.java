@@ -0,0 +1,100 @@
+package org.bloomberg.fx_deals.Security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers successful username/password verifications of the wrapped provider for a short time, so a client
+ * polling with Basic credentials pays the password hash check (milliseconds with BCrypt) once per TTL instead
+ * of on every request. Entries are keyed by an HMAC of the credentials under a key drawn at startup, so the
+ * cache holds nothing a password could be recovered from outside this process. Failures are never cached.
+ * Only the verified principal and authorities are kept: every request gets its own token, with its own details.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final SecretKeySpec cacheKey;
+    private final ConcurrentMap<String, Verified> verified = new ConcurrentHashMap<>();
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.cacheKey = new SecretKeySpec(secret, HMAC);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        if (ttlNanos <= 0 || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = cacheKey(authentication.getName(), password);
+        long now = System.nanoTime();
+        Verified hit = verified.get(key);
+        if (hit != null && now - hit.verifiedAt() < ttlNanos) {
+            UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+                    hit.principal(), authentication.getCredentials(), hit.authorities());
+            token.setDetails(authentication.getDetails());
+            return token;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            if (verified.size() >= maxEntries) {
+                verified.values().removeIf(entry -> now - entry.verifiedAt() >= ttlNanos);
+                if (verified.size() >= maxEntries) {
+                    verified.clear();
+                }
+            }
+            verified.put(key, new Verified(result.getPrincipal(), List.copyOf(result.getAuthorities()), now));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication)
+                && delegate.supports(authentication);
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    private String cacheKey(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(cacheKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // a separator no username contains, so "ab"/"c" and "a"/"bc" differ
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Verified(Object principal, Collection<? extends GrantedAuthority> authorities, long verifiedAt) {
+    }
+}
@@ -0,0 +1,176 @@
+package org.bloomberg.fx_deals.Security;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.bloomberg.fx_deals.Config.AdmissionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Decides whether an import request may run, before its body is read:
+ * <ul>
+ *     <li>each client has a request bucket ({@code fxdeals.admission.requests}) charged one token per import,
+ *     and a deal bucket ({@code fxdeals.admission.deals}) charged with the deals of an import once they are
+ *     known. An import is let in while the deal bucket is positive, so one large import may overdraw it and
+ *     the client then waits for it to refill;</li>
+ *     <li>at most {@code max-concurrent-imports} imports run at the same time, by default as many as the
+ *     connection pool holds, so no client can queue every other one behind the pool. Async import jobs take
+ *     their slot from the same limit when a worker starts them ({@link #acquire()}).</li>
+ * </ul>
+ * A refused request is never queued: the caller answers 429 at once with the delay to retry after.
+ */
+@Component
+public class ImportAdmission {
+
+    public static final String CLIENT_ATTRIBUTE = ImportAdmission.class.getName() + ".client";
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportAdmission.class);
+
+    private final AdmissionProperties admissionProperties;
+    private final int maxConcurrentImports;
+    private final Semaphore running;
+    private final ConcurrentMap<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+    private final Counter rejectedByRequests;
+    private final Counter rejectedByDeals;
+    private final Counter rejectedByConcurrency;
+
+    public ImportAdmission(AdmissionProperties admissionProperties, ObjectProvider<DataSource> dataSource,
+                           MeterRegistry registry) {
+        this.admissionProperties = admissionProperties;
+        this.maxConcurrentImports = admissionProperties.getMaxConcurrentImports() > 0
+                ? admissionProperties.getMaxConcurrentImports()
+                : connectionPoolSize(dataSource.getIfAvailable());
+        this.running = new Semaphore(maxConcurrentImports);
+        logger.info("Import admission: at most {} concurrent imports", maxConcurrentImports);
+
+        rejectedByRequests = rejectedCounter(registry, "requests");
+        rejectedByDeals = rejectedCounter(registry, "deals");
+        rejectedByConcurrency = rejectedCounter(registry, "concurrency");
+        Gauge.builder("fxdeals.admission.running", running, permits -> maxConcurrentImports - permits.availablePermits())
+                .description("Imports admitted and still running")
+                .register(registry);
+        Gauge.builder("fxdeals.admission.clients", clients, ConcurrentMap::size)
+                .description("Clients with rate limit buckets in memory")
+                .register(registry);
+    }
+
+    /**
+     * Admits the import or says why not. An admitted import holds a slot until {@link #release()}.
+     */
+    public Optional<Rejection> tryAdmit(String client) {
+        long now = System.nanoTime();
+        ClientBuckets buckets = clients.computeIfAbsent(client, ignored -> newBuckets(now));
+
+        if (buckets.deals != null) {
+            long wait = buckets.deals.nanosUntilAvailable(now);
+            if (wait > 0) {
+                rejectedByDeals.increment();
+                return Optional.of(new Rejection("Deal rate limit exceeded for this client", seconds(wait)));
+            }
+        }
+        if (buckets.requests != null) {
+            long wait = buckets.requests.tryTake(1, now);
+            if (wait > 0) {
+                rejectedByRequests.increment();
+                return Optional.of(new Rejection("Request rate limit exceeded for this client", seconds(wait)));
+            }
+        }
+        if (!running.tryAcquire()) {
+            if (buckets.requests != null) {
+                // not the client's fault: give the request back
+                buckets.requests.charge(-1, now);
+            }
+            rejectedByConcurrency.increment();
+            return Optional.of(new Rejection(
+                    "Too many imports running (" + maxConcurrentImports + "). Please retry later.", 1));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Waits for an import slot, for imports admitted earlier and run later: async jobs answer 202 and release
+     * their request's slot right away, so their worker takes one of its own. Release it with {@link #release()}.
+     */
+    public void acquire() throws InterruptedException {
+        running.acquire();
+    }
+
+    public void release() {
+        running.release();
+    }
+
+    /**
+     * Charges the deals of an import to the client admitted for {@code request}; nothing when it went
+     * through no admission.
+     */
+    public void chargeDeals(HttpServletRequest request, int deals) {
+        chargeDeals((String) request.getAttribute(CLIENT_ATTRIBUTE), deals);
+    }
+
+    public void chargeDeals(String client, int deals) {
+        ClientBuckets buckets = client == null ? null : clients.get(client);
+        if (buckets != null && buckets.deals != null && deals > 0) {
+            buckets.deals.charge(deals, System.nanoTime());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public void evictIdleClients() {
+        long now = System.nanoTime();
+        long idleNanos = admissionProperties.getIdleTimeout().toNanos();
+        clients.values().removeIf(buckets -> buckets.isIdle(idleNanos, now));
+    }
+
+    private ClientBuckets newBuckets(long now) {
+        return new ClientBuckets(bucket(admissionProperties.getRequests(), now),
+                bucket(admissionProperties.getDeals(), now));
+    }
+
+    private static TokenBucket bucket(AdmissionProperties.Limit limit, long now) {
+        return limit.getPerSecond() > 0 ? new TokenBucket(limit.getPerSecond(), Math.max(1, limit.getBurst()), now) : null;
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999) / 1_000_000_000);
+    }
+
+    private static int connectionPoolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        // Hikari's default pool size
+        return 10;
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("fxdeals.admission.rejected")
+                .description("Import requests answered 429, by reason")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * @param retryAfterSeconds value of the {@code Retry-After} header
+     */
+    public record Rejection(String message, long retryAfterSeconds) {
+    }
+
+    private record ClientBuckets(TokenBucket requests, TokenBucket deals) {
+
+        boolean isIdle(long idleNanos, long now) {
+            return (requests == null || requests.isIdle(idleNanos, now)) && (deals == null || deals.isIdle(idleNanos, now));
+        }
+    }
+}
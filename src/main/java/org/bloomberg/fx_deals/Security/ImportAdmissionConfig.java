@@ -0,0 +1,24 @@
+package org.bloomberg.fx_deals.Security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Config.AdmissionProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ImportAdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ImportAdmissionFilter> importAdmissionFilter(ImportAdmission importAdmission,
+                                                                               AdmissionProperties admissionProperties,
+                                                                               ObjectMapper objectMapper) {
+        FilterRegistrationBean<ImportAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new ImportAdmissionFilter(importAdmission, admissionProperties, objectMapper));
+        registration.addUrlPatterns(ImportAdmissionFilter.IMPORT_PATH);
+        // ahead of the Spring Security chain, so refused requests are not authenticated first
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,125 @@
+package org.bloomberg.fx_deals.Security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bloomberg.fx_deals.Config.AdmissionProperties;
+import org.bloomberg.fx_deals.Exceptions.GlobalHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Runs {@link ImportAdmission} on {@code POST /api/deals/import} ahead of everything else, so a refused
+ * request costs neither authentication nor reading its body. The slot of an admitted import is released
+ * when its response is complete, including NDJSON responses written asynchronously.
+ */
+public class ImportAdmissionFilter extends OncePerRequestFilter {
+
+    static final String IMPORT_PATH = "/api/deals/import";
+
+    private final ImportAdmission importAdmission;
+    private final AdmissionProperties admissionProperties;
+    private final ObjectMapper objectMapper;
+
+    public ImportAdmissionFilter(ImportAdmission importAdmission, AdmissionProperties admissionProperties,
+                                 ObjectMapper objectMapper) {
+        this.importAdmission = importAdmission;
+        this.admissionProperties = admissionProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionProperties.isEnabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !IMPORT_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientOf(request);
+        Optional<ImportAdmission.Rejection> rejection = importAdmission.tryAdmit(client);
+        if (rejection.isPresent()) {
+            reject(response, rejection.get());
+            return;
+        }
+
+        request.setAttribute(ImportAdmission.CLIENT_ATTRIBUTE, client);
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                importAdmission.release();
+            }
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String header = admissionProperties.getClientHeader();
+        if (header != null && !header.isBlank()) {
+            String value = request.getHeader(header);
+            if (value != null && !value.isBlank()) {
+                int comma = value.indexOf(',');
+                return (comma < 0 ? value : value.substring(0, comma)).strip();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, ImportAdmission.Rejection rejection) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(rejection.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new GlobalHandler.ApiError(
+                Instant.now(), "Too Many Requests", rejection.message(), HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private final class ReleasingListener implements AsyncListener {
+
+        private boolean released;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        // onComplete also follows a timeout or an error
+        private synchronized void release() {
+            if (!released) {
+                released = true;
+                importAdmission.release();
+            }
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package org.bloomberg.fx_deals.Security;
 
+import org.bloomberg.fx_deals.Config.AuthProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
@@ -18,16 +29,33 @@ public class SecurityConfig {
             "/webjars/**"
     };
 
-
-
+    /**
+     * Requests authenticate with an API key header or Basic credentials. Successful Basic verifications are
+     * cached for {@code fxdeals.auth.basic-cache-ttl}, so neither path runs a password hash check per request.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, UserDetailsService userDetailsService,
+                                                   AuthProperties authProperties) throws Exception {
+        // no parent manager: a bad password is checked once, not again by a global manager
+        AuthenticationManager authenticationManager = new ProviderManager(
+                new CachingAuthenticationProvider(new DaoAuthenticationProvider(userDetailsService),
+                        authProperties.getBasicCacheTtl(), authProperties.getBasicCacheMaxEntries()),
+                new ApiKeyAuthenticationProvider(authProperties.getApiKeys()));
+
         http
                 .csrf(AbstractHttpConfigurer::disable)
 
+                .authenticationManager(authenticationManager)
+                .addFilterBefore(apiKeyFilter(authenticationManager, authProperties.getApiKeyHeader()),
+                        BasicAuthenticationFilter.class)
+
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/deals/import").permitAll()
+                        // async import job status, readable by whoever holds the job id
+                        .requestMatchers(HttpMethod.GET, "/api/deals/import/*").permitAll()
                         .requestMatchers(SWAGGER_WHITELIST).permitAll()
+                        // metrics name clients and their throughput: scrapers authenticate, e.g. with an API key
+                        .requestMatchers("/actuator/health").permitAll()
                         .anyRequest().authenticated()
                 )
 
@@ -38,4 +66,16 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    private static AuthenticationFilter apiKeyFilter(AuthenticationManager authenticationManager, String header) {
+        AuthenticationFilter filter = new AuthenticationFilter(authenticationManager, request -> {
+            String apiKey = request.getHeader(header);
+            return apiKey == null || apiKey.isBlank() ? null : ApiKeyAuthenticationToken.unauthenticated(apiKey.strip());
+        });
+        // an API key is checked on every request: nothing to redirect to, nothing to remember
+        filter.setSuccessHandler((request, response, authentication) -> {
+        });
+        filter.setFailureHandler(new AuthenticationEntryPointFailureHandler(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+        return filter;
+    }
 }
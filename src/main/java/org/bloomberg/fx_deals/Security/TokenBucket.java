@@ -0,0 +1,74 @@
+package org.bloomberg.fx_deals.Security;
+
+/**
+ * Token bucket refilled continuously at {@code perSecond} up to {@code burst} tokens. Charges may take it
+ * below zero, so a cost only known afterwards (the deals of an import) still counts in full: the client then
+ * waits until the bucket is positive again. Times are {@link System#nanoTime()} readings.
+ */
+final class TokenBucket {
+
+    private final double perNano;
+    private final double burst;
+
+    private double tokens;
+    private long refilledAt;
+    private long usedAt;
+
+    TokenBucket(double perSecond, long burst, long now) {
+        this.perNano = perSecond / 1e9;
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = now;
+        this.usedAt = now;
+    }
+
+    /**
+     * Takes {@code amount} tokens if the bucket holds them.
+     *
+     * @return 0 when taken, otherwise the nanoseconds until they would be there
+     */
+    synchronized long tryTake(double amount, long now) {
+        refill(now);
+        usedAt = now;
+        if (tokens >= amount) {
+            tokens -= amount;
+            return 0;
+        }
+        return nanosUntil(amount);
+    }
+
+    /**
+     * @return 0 when the bucket holds at least one token, otherwise the nanoseconds until it does
+     */
+    synchronized long nanosUntilAvailable(long now) {
+        refill(now);
+        usedAt = now;
+        return tokens >= 1 ? 0 : nanosUntil(1);
+    }
+
+    /**
+     * Takes {@code amount} tokens whatever the balance; a negative amount gives tokens back.
+     */
+    synchronized void charge(double amount, long now) {
+        refill(now);
+        usedAt = now;
+        tokens = Math.min(burst, tokens - amount);
+    }
+
+    /**
+     * Whether the bucket is full and was not used for {@code idleNanos}, so dropping it changes nothing.
+     */
+    synchronized boolean isIdle(long idleNanos, long now) {
+        refill(now);
+        return tokens >= burst && now - usedAt >= idleNanos;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * perNano);
+        refilledAt = now;
+    }
+
+    private long nanosUntil(double amount) {
+        return (long) Math.ceil((amount - tokens) / perNano);
+    }
+}
@@ -0,0 +1,110 @@
+package org.bloomberg.fx_deals.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Repository.DealBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the number of deals per INSERT statement of {@link DealService#saveAll} from how the previous
+ * statements went (additive increase, multiplicative decrease):
+ * <ul>
+ *     <li>a full chunk committed while the smoothed commit latency is under {@code target-latency}
+ *     grows the size by {@code increase-step};</li>
+ *     <li>a smoothed latency over the target, or a failed statement, multiplies it by {@code decrease-factor}.
+ *     Latencies measured at the old size are then forgotten, so one slow spell shrinks it once.</li>
+ * </ul>
+ * The size stays within {@code [min-size, max-size]} and starts at {@code fxdeals.import.batch-size}.
+ * It is shared by all imports, since they all load the same database. When disabled, every chunk is
+ * {@code batch-size} deals. Current size, smoothed latency and error rate are published as gauges.
+ */
+@Component
+public class AdaptiveBatchSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBatchSizer.class);
+
+    // weight of the newest sample in the moving averages
+    private static final double SMOOTHING = 0.3;
+
+    private final ImportProperties importProperties;
+
+    private volatile int batchSize;
+    private volatile double latencyNanos = -1;
+    private volatile double errorRate;
+
+    public AdaptiveBatchSizer(ImportProperties importProperties, MeterRegistry registry) {
+        this.importProperties = importProperties;
+        this.batchSize = clamp(importProperties.getBatchSize());
+
+        Gauge.builder("fxdeals.import.adaptive.batch.size", this, AdaptiveBatchSizer::currentBatchSize)
+                .description("Deals per write statement chosen from the recent commit latency and errors")
+                .register(registry);
+        Gauge.builder("fxdeals.import.adaptive.commit.latency", this, sizer -> Math.max(0, sizer.latencyNanos) / 1e9)
+                .description("Moving average of the write statement latency")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("fxdeals.import.adaptive.error.rate", this, sizer -> sizer.errorRate)
+                .description("Moving average of the share of failed write statements")
+                .register(registry);
+    }
+
+    public int currentBatchSize() {
+        if (!settings().isEnabled()) {
+            return Math.max(1, Math.min(importProperties.getBatchSize(), DealBatchRepository.MAX_ROWS_PER_STATEMENT));
+        }
+        return batchSize;
+    }
+
+    /**
+     * @param deals deals sent in the statement
+     * @param nanos time the statement took to commit
+     */
+    public synchronized void recordCommit(int deals, long nanos) {
+        if (!settings().isEnabled()) {
+            return;
+        }
+        errorRate = errorRate * (1 - SMOOTHING);
+        latencyNanos = latencyNanos < 0 ? nanos : latencyNanos + SMOOTHING * (nanos - latencyNanos);
+
+        if (latencyNanos > settings().getTargetLatency().toNanos()) {
+            decrease("commit latency " + Math.round(latencyNanos / 1e6) + "ms over target");
+        } else if (deals >= batchSize) {
+            // a short last chunk says nothing about a larger size
+            resize(batchSize + settings().getIncreaseStep());
+        }
+    }
+
+    public synchronized void recordFailure(int deals) {
+        if (!settings().isEnabled()) {
+            return;
+        }
+        errorRate = errorRate + SMOOTHING * (1 - errorRate);
+        decrease("statement of " + deals + " deals failed");
+    }
+
+    private void decrease(String reason) {
+        int previous = batchSize;
+        resize((int) (batchSize * settings().getDecreaseFactor()));
+        latencyNanos = -1;
+        if (batchSize != previous) {
+            logger.debug("Write batch size {} -> {}: {}", previous, batchSize, reason);
+        }
+    }
+
+    private void resize(int size) {
+        batchSize = clamp(size);
+    }
+
+    private int clamp(int size) {
+        int max = Math.max(1, Math.min(settings().getMaxSize(), DealBatchRepository.MAX_ROWS_PER_STATEMENT));
+        int min = Math.max(1, Math.min(settings().getMinSize(), max));
+        return Math.max(min, Math.min(size, max));
+    }
+
+    private ImportProperties.AdaptiveBatch settings() {
+        return importProperties.getAdaptiveBatch();
+    }
+}
@@ -0,0 +1,319 @@
+package org.bloomberg.fx_deals.Service;
+
+import jakarta.annotation.PreDestroy;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Exceptions.InvalidCsvException;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.CsvRowErrorDto;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Imports deals uploaded as CSV. The upload is spooled to a local file (hashed on the way for idempotency),
+ * which is then cut into line-aligned slices of {@code fxdeals.import.csv.slice-size}. Each slice is
+ * memory-mapped, parsed and validated on the shared parse pool, so all cores work on one file; the request
+ * thread saves the slices in file order as they complete through the same chunked path as the stream import.
+ * At most two slices per parse thread are in flight, which bounds the heap whatever the file size.
+ */
+@Service
+public class DealCsvImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DealCsvImportService.class);
+
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+    private static final int BOUNDARY_SCAN_BYTES = 8 * 1024;
+
+    private final DealDtoValidator dealDtoValidator;
+    private final DealStreamImportService dealStreamImportService;
+    private final ImportMetrics importMetrics;
+    private final ImportProperties.Csv csvProperties;
+    private final int parseThreads;
+    private final ExecutorService parsers;
+
+    public DealCsvImportService(DealDtoValidator dealDtoValidator, DealStreamImportService dealStreamImportService,
+                                ImportMetrics importMetrics, ImportProperties importProperties) {
+        this.dealDtoValidator = dealDtoValidator;
+        this.dealStreamImportService = dealStreamImportService;
+        this.importMetrics = importMetrics;
+        this.csvProperties = importProperties.getCsv();
+
+        // parsing is CPU bound, so platform threads sized to the cores rather than virtual ones
+        this.parseThreads = csvProperties.getParseThreads() > 0
+                ? csvProperties.getParseThreads() : Runtime.getRuntime().availableProcessors();
+        this.parsers = Executors.newFixedThreadPool(parseThreads,
+                Thread.ofPlatform().name("csv-parse-", 1).daemon(true).factory());
+    }
+
+    /**
+     * Copies the upload to a temporary file. Close the returned handle to delete it.
+     */
+    public SpooledCsv spool(InputStream in) throws IOException {
+        String directory = csvProperties.getSpoolDirectory();
+        Path file = directory == null || directory.isBlank()
+                ? Files.createTempFile("deals-", ".csv")
+                : Files.createTempFile(Path.of(directory), "deals-", ".csv");
+        try {
+            DigestInputStream digesting = new DigestInputStream(in, sha256());
+            Files.copy(digesting, file, StandardCopyOption.REPLACE_EXISTING);
+            return new SpooledCsv(file, HexFormat.of().formatHex(digesting.getMessageDigest().digest()));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Rows that cannot be parsed or fail validation are reported as failed (by id, or by {@code #line}
+     * when the row has no id) and detailed with their line number, without rejecting the other rows.
+     *
+     * @throws InvalidCsvException when the header is missing, unreadable or lacks a column
+     */
+    public CsvImport importCsv(SpooledCsv csv) throws IOException {
+        List<String> successfulDeals = new ArrayList<>();
+        List<String> failedDeals = new ArrayList<>();
+        List<String> duplicateDeals = new ArrayList<>();
+
+        List<CsvRowErrorDto> rowErrors = importCsv(csv, (success, failed, duplicates) -> {
+            successfulDeals.addAll(success);
+            failedDeals.addAll(failed);
+            duplicateDeals.addAll(duplicates);
+        });
+
+        return new CsvImport(new ImportResultDto(successfulDeals, failedDeals, duplicateDeals), rowErrors);
+    }
+
+    /**
+     * Same as {@link #importCsv(SpooledCsv)} but hands every chunk outcome to the listener
+     * instead of collecting them.
+     *
+     * @return the first {@code fxdeals.import.csv.max-reported-row-errors} malformed rows, in file order
+     */
+    public List<CsvRowErrorDto> importCsv(SpooledCsv csv, ImportChunkListener listener) throws IOException {
+        List<CsvRowErrorDto> rowErrors = new ArrayList<>();
+        long rows = importCsv(csv.file(), rowErrors, listener);
+        logger.info("CSV import of {} rows completed", rows);
+        return rowErrors;
+    }
+
+    private long importCsv(Path file, List<CsvRowErrorDto> rowErrors, ImportChunkListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long headerEnd = headerEnd(channel, size);
+            DealCsvParser parser = DealCsvParser.forHeader(readHeader(channel, headerEnd));
+            List<long[]> slices = slices(channel, headerEnd, size);
+
+            Deque<Future<ParsedSlice>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            // the header is line 1
+            long linesBefore = 1;
+            long rows = 0;
+            try {
+                while (next < slices.size() || !inFlight.isEmpty()) {
+                    while (next < slices.size() && inFlight.size() < 2 * parseThreads) {
+                        long[] slice = slices.get(next++);
+                        inFlight.add(parsers.submit(() -> parseSlice(channel, slice[0], slice[1], parser)));
+                    }
+                    ParsedSlice parsed = await(inFlight.poll());
+                    rows += save(parsed, linesBefore, rowErrors, listener);
+                    linesBefore += parsed.lines();
+                }
+            } finally {
+                // not interrupted: an interrupt would close the channel under the other slices
+                inFlight.forEach(future -> future.cancel(false));
+            }
+            return rows;
+        }
+    }
+
+    private ParsedSlice parseSlice(FileChannel channel, long start, long end, DealCsvParser parser) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        long parseStart = System.nanoTime();
+        DealCsvParser.Slice slice = parser.parse(buffer);
+        long parsed = System.nanoTime();
+
+        List<DealDto> deals = new ArrayList<>(slice.rows().size());
+        List<DealCsvParser.RowError> errors = new ArrayList<>(slice.errors());
+        for (DealCsvParser.Row row : slice.rows()) {
+            List<Map<String, String>> violations = dealDtoValidator.validate(row.deal());
+            if (violations.isEmpty()) {
+                deals.add(row.deal());
+            } else {
+                errors.add(new DealCsvParser.RowError(row.line(), row.deal().getDealUniqueId(), violations.stream()
+                        .map(violation -> violation.get("property") + ": " + violation.get("message"))
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+        errors.sort(Comparator.comparingInt(DealCsvParser.RowError::line));
+        return new ParsedSlice(deals, errors, slice.lines(), parsed - parseStart, System.nanoTime() - parsed);
+    }
+
+    private int save(ParsedSlice parsed, long linesBefore, List<CsvRowErrorDto> rowErrors,
+                     ImportChunkListener listener) throws IOException {
+        importMetrics.recordStage(ImportMetrics.Stage.BINDING, parsed.bindingNanos());
+        importMetrics.recordStage(ImportMetrics.Stage.VALIDATION, parsed.validationNanos());
+
+        List<String> invalidDeals = new ArrayList<>(parsed.errors().size());
+        for (DealCsvParser.RowError error : parsed.errors()) {
+            long line = linesBefore + error.line();
+            boolean hasId = error.dealUniqueId() != null && !error.dealUniqueId().isBlank();
+            invalidDeals.add(hasId ? error.dealUniqueId() : "#" + line);
+            if (rowErrors.size() < csvProperties.getMaxReportedRowErrors()) {
+                rowErrors.add(new CsvRowErrorDto(line, error.dealUniqueId(), error.message()));
+            }
+            logger.warn("CSV line {} rejected: {}", line, error.message());
+        }
+        dealStreamImportService.importValidated(parsed.deals(), invalidDeals, listener);
+        return parsed.deals().size() + parsed.errors().size();
+    }
+
+    private static long headerEnd(FileChannel channel, long size) throws IOException {
+        if (size == 0) {
+            throw new InvalidCsvException("CSV body is empty");
+        }
+        long lineBreak = indexOfLineBreak(channel, 0, Math.min(size, MAX_HEADER_BYTES));
+        if (lineBreak >= 0) {
+            return lineBreak + 1;
+        }
+        if (size > MAX_HEADER_BYTES) {
+            throw new InvalidCsvException("CSV header exceeds " + MAX_HEADER_BYTES + " bytes");
+        }
+        return size;
+    }
+
+    private static String readHeader(FileChannel channel, long headerEnd) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) headerEnd);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).strip();
+    }
+
+    /**
+     * Cuts {@code [start, size)} into {@code [from, to)} ranges of about the slice size, each ending right
+     * after a line break (or at the end of the file).
+     */
+    private List<long[]> slices(FileChannel channel, long start, long size) throws IOException {
+        long sliceSize = Math.max(1, csvProperties.getSliceSize().toBytes());
+        List<long[]> slices = new ArrayList<>();
+        while (start < size) {
+            long end = start + sliceSize >= size ? size : indexOfLineBreak(channel, start + sliceSize - 1, size) + 1;
+            if (end == 0) {
+                end = size;
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new InvalidCsvException("CSV line starting at byte " + start + " is too long");
+            }
+            slices.add(new long[]{start, end});
+            start = end;
+        }
+        return slices;
+    }
+
+    /**
+     * @return position of the first {@code '\n'} in {@code [from, to)}, or -1
+     */
+    private static long indexOfLineBreak(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long position = from;
+        while (position < to) {
+            buffer.clear().limit((int) Math.min(BOUNDARY_SCAN_BYTES, to - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return -1;
+    }
+
+    private static ParsedSlice await(Future<ParsedSlice> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parsers.shutdown();
+    }
+
+    /**
+     * An upload spooled to disk, with the hex SHA-256 of its bytes.
+     */
+    public record SpooledCsv(Path file, String sha256) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete spooled CSV {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param rowErrors the first {@code fxdeals.import.csv.max-reported-row-errors} malformed rows, in file order
+     */
+    public record CsvImport(ImportResultDto result, List<CsvRowErrorDto> rowErrors) {
+    }
+
+    private record ParsedSlice(List<DealDto> deals, List<DealCsvParser.RowError> errors, int lines,
+                               long bindingNanos, long validationNanos) {
+    }
+}
@@ -0,0 +1,224 @@
+package org.bloomberg.fx_deals.Service;
+
+import org.bloomberg.fx_deals.Exceptions.InvalidCsvException;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses deals CSV straight from its bytes, one line-aligned slice at a time, so slices of the same file
+ * can be parsed by different threads. Columns are located by the header row (names as in the JSON payload,
+ * in any order, unknown ones ignored). Fields may be quoted RFC 4180 style, but a quoted field cannot span
+ * lines since slices are cut on line breaks. Instances are immutable and shared by all slices of a file.
+ */
+final class DealCsvParser {
+
+    static final List<String> COLUMNS = List.of("dealUniqueId", "fromCurrencyIsoCode", "toCurrencyIsoCode",
+            "dealTimestamp", "dealAmountInOrderingCurrency");
+
+    private static final int DEAL_ID = 0;
+    private static final int FROM_CURRENCY = 1;
+    private static final int TO_CURRENCY = 2;
+    private static final int TIMESTAMP = 3;
+    private static final int AMOUNT = 4;
+    private static final int IGNORED = -1;
+
+    private static final String UTF8_BOM = "\uFEFF";
+
+    // index into COLUMNS for every column of the file, IGNORED for unknown ones
+    private final int[] fieldOfColumn;
+
+    private DealCsvParser(int[] fieldOfColumn) {
+        this.fieldOfColumn = fieldOfColumn;
+    }
+
+    /**
+     * @param header the first line of the file, without its line break
+     * @throws InvalidCsvException when a column is missing or repeated
+     */
+    static DealCsvParser forHeader(String header) {
+        if (header.startsWith(UTF8_BOM)) {
+            header = header.substring(1);
+        }
+        String[] names = header.split(",", -1);
+        int[] fieldOfColumn = new int[names.length];
+        boolean[] seen = new boolean[COLUMNS.size()];
+        for (int column = 0; column < names.length; column++) {
+            String name = names[column].strip();
+            if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                name = name.substring(1, name.length() - 1);
+            }
+            int field = indexOfIgnoreCase(name);
+            if (field != IGNORED) {
+                if (seen[field]) {
+                    throw new InvalidCsvException("Column '" + COLUMNS.get(field) + "' appears more than once in the CSV header");
+                }
+                seen[field] = true;
+            }
+            fieldOfColumn[column] = field;
+        }
+        for (int field = 0; field < seen.length; field++) {
+            if (!seen[field]) {
+                throw new InvalidCsvException("CSV header is missing column '" + COLUMNS.get(field) + "'");
+            }
+        }
+        return new DealCsvParser(fieldOfColumn);
+    }
+
+    /**
+     * Parses every line between the buffer's position and its limit. Blank lines are skipped but counted,
+     * so line numbers stay those of the file once offset by the lines of the previous slices.
+     */
+    Slice parse(ByteBuffer buffer) {
+        List<Row> rows = new ArrayList<>();
+        List<RowError> errors = new ArrayList<>();
+        byte[] line = new byte[256];
+        String[] fields = new String[COLUMNS.size()];
+        int lineNumber = 0;
+
+        while (buffer.hasRemaining()) {
+            int length = 0;
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+            lineNumber++;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            if (length == 0) {
+                continue;
+            }
+
+            Arrays.fill(fields, null);
+            String error = split(line, length, fields);
+            if (error == null) {
+                error = addRow(fields, lineNumber, rows);
+            }
+            if (error != null) {
+                errors.add(new RowError(lineNumber, fields[DEAL_ID], error));
+            }
+        }
+        return new Slice(rows, errors, lineNumber);
+    }
+
+    private static String addRow(String[] fields, int lineNumber, List<Row> rows) {
+        BigDecimal amount = null;
+        if (fields[AMOUNT] != null) {
+            try {
+                amount = new BigDecimal(fields[AMOUNT]);
+            } catch (NumberFormatException e) {
+                return "dealAmountInOrderingCurrency is not a number";
+            }
+        }
+        rows.add(new Row(lineNumber, DealDto.builder()
+                .dealUniqueId(fields[DEAL_ID])
+                .fromCurrencyIsoCode(fields[FROM_CURRENCY])
+                .toCurrencyIsoCode(fields[TO_CURRENCY])
+                .dealTimestamp(fields[TIMESTAMP])
+                .dealAmountInOrderingCurrency(amount)
+                .build()));
+        return null;
+    }
+
+    /**
+     * Splits one line on commas into {@code fields} (empty fields stay null).
+     *
+     * @return why the line cannot be read, or null
+     */
+    private String split(byte[] line, int length, String[] fields) {
+        int column = 0;
+        int i = 0;
+        while (true) {
+            if (column == fieldOfColumn.length) {
+                return "Expected " + fieldOfColumn.length + " fields but found more";
+            }
+            int field = fieldOfColumn[column];
+            if (i < length && line[i] == '"') {
+                int end = i + 1;
+                boolean escapedQuotes = false;
+                while (true) {
+                    if (end == length) {
+                        return "Unterminated quoted field";
+                    }
+                    if (line[end] == '"') {
+                        if (end + 1 < length && line[end + 1] == '"') {
+                            escapedQuotes = true;
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                if (field != IGNORED && end > i + 1) {
+                    String value = new String(line, i + 1, end - i - 1, StandardCharsets.UTF_8);
+                    fields[field] = escapedQuotes ? value.replace("\"\"", "\"") : value;
+                }
+                i = end + 1;
+                if (i < length && line[i] != ',') {
+                    return "Unexpected character after quoted field";
+                }
+            } else {
+                int end = i;
+                while (end < length && line[end] != ',') {
+                    end++;
+                }
+                if (field != IGNORED && end > i) {
+                    fields[field] = new String(line, i, end - i, StandardCharsets.UTF_8);
+                }
+                i = end;
+            }
+            column++;
+            if (i == length) {
+                break;
+            }
+            // skip the comma; a trailing one starts an empty last field
+            i++;
+        }
+        if (column != fieldOfColumn.length) {
+            return "Expected " + fieldOfColumn.length + " fields but found " + column;
+        }
+        return null;
+    }
+
+    private static int indexOfIgnoreCase(String name) {
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        for (int field = 0; field < COLUMNS.size(); field++) {
+            if (COLUMNS.get(field).toLowerCase(Locale.ROOT).equals(lowerCase)) {
+                return field;
+            }
+        }
+        return IGNORED;
+    }
+
+    /**
+     * @param lines lines read, blank ones included
+     */
+    record Slice(List<Row> rows, List<RowError> errors, int lines) {
+    }
+
+    /**
+     * @param line line number within the slice, starting at 1
+     */
+    record Row(int line, DealDto deal) {
+    }
+
+    /**
+     * @param dealUniqueId the id read from the line, null when it has none or could not be split
+     */
+    record RowError(int line, String dealUniqueId, String message) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.bloomberg.fx_deals.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Config.DealPartitionProperties;
+import org.bloomberg.fx_deals.Repository.DealPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps a partition of {@code deals} ready for the current UTC month and the next
+ * {@code fxdeals.deal-partitions.months-ahead} ones, so new deals never pile up in the default partition.
+ * Deals of other months (backfills of old deals, far-future timestamps) land in the default partition
+ * and get a partition of their own on the next run, which keeps the default partition small.
+ * Runs at startup and then on the configured cron; every instance may run it, the database serializes them.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealPartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DealPartitionMaintainer.class);
+
+    private final DealPartitionRepository dealPartitionRepository;
+    private final DealPartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${fxdeals.deal-partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void createUpcomingPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            createPartition(current.plusMonths(i));
+        }
+        try {
+            dealPartitionRepository.findMonthsInDefaultPartition().forEach(this::createPartition);
+        } catch (Exception e) {
+            logger.error("Failed to read the months held by the default deals partition: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        try {
+            if (dealPartitionRepository.createMonthlyPartition(month)) {
+                logger.info("Created deals partition for {}", month);
+            }
+        } catch (Exception e) {
+            // retried on the next run; meanwhile deals of that month go to the default partition
+            logger.error("Failed to create deals partition for {}: {}", month, e.getMessage(), e);
+        }
+    }
+}
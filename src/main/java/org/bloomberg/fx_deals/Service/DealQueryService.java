@@ -0,0 +1,113 @@
+package org.bloomberg.fx_deals.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Exceptions.InvalidDealQueryException;
+import org.bloomberg.fx_deals.Model.Converter.CurrencyCodes;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.DealPageDto;
+import org.bloomberg.fx_deals.Model.DTO.DealSearchCriteria;
+import org.bloomberg.fx_deals.Repository.DealQueryRepository;
+import org.springframework.stereotype.Service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pages through deals in {@code (dealTimestamp, dealUniqueId)} order.
+ * The cursor handed to clients is an opaque base64url encoding of the last deal's sort key,
+ * so the next page is a seek past that key rather than an offset.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealQueryService {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+    private final DealQueryRepository dealQueryRepository;
+
+    public DealPageDto search(DealSearchCriteria criteria, Integer limit, String cursor) {
+        int pageSize = (limit != null) ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new InvalidDealQueryException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        validate(criteria);
+
+        Cursor after = (cursor != null && !cursor.isBlank()) ? decodeCursor(cursor) : null;
+        // one extra row tells whether another page exists without a count query
+        List<DealDto> deals = dealQueryRepository.findPage(criteria,
+                after != null ? after.timestamp() : null,
+                after != null ? after.dealUniqueId() : null,
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (deals.size() > pageSize) {
+            deals = deals.subList(0, pageSize);
+            DealDto last = deals.get(pageSize - 1);
+            nextCursor = encodeCursor(Instant.parse(last.getDealTimestamp()), last.getDealUniqueId());
+        }
+        return new DealPageDto(deals, nextCursor);
+    }
+
+    private static void validate(DealSearchCriteria criteria) {
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new InvalidDealQueryException("from must be before to");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new InvalidDealQueryException("minAmount must not be greater than maxAmount");
+        }
+        criteria.setFromCurrency(currency("fromCurrency", criteria.getFromCurrency()));
+        criteria.setToCurrency(currency("toCurrency", criteria.getToCurrency()));
+    }
+
+    // also used by DealVolumeRollupService so both read endpoints accept currencies the same way
+    static String currency(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String alpha = value.trim().toUpperCase(Locale.ROOT);
+        try {
+            CurrencyCodes.toCode(alpha);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDealQueryException(name + " must be a 3-letter currency code");
+        }
+        return alpha;
+    }
+
+    static String encodeCursor(Instant timestamp, String dealUniqueId) {
+        byte[] id = dealUniqueId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + id.length)
+                .putLong(timestamp.getEpochSecond())
+                .putInt(timestamp.getNano())
+                .put(id);
+        return CURSOR_ENCODER.encodeToString(buffer.array());
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(CURSOR_DECODER.decode(cursor));
+            Instant timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            byte[] id = new byte[buffer.remaining()];
+            buffer.get(id);
+            if (id.length == 0) {
+                throw new IllegalArgumentException("missing deal id");
+            }
+            return new Cursor(timestamp, new String(id, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new InvalidDealQueryException("cursor is invalid");
+        }
+    }
+
+    record Cursor(Instant timestamp, String dealUniqueId) {
+    }
+}
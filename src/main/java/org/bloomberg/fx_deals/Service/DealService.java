@@ -2,17 +2,22 @@ package org.bloomberg.fx_deals.Service;
 
 import lombok.RequiredArgsConstructor;
 
+import org.bloomberg.fx_deals.Corevalidation.DealIdFilter;
 import org.bloomberg.fx_deals.Mapper.DealMapper;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
 import org.bloomberg.fx_deals.Model.DTO.DealDto;
 import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
 import org.bloomberg.fx_deals.Model.Entity.Deal;
-import org.bloomberg.fx_deals.Repository.DealRepository;
+import org.bloomberg.fx_deals.Repository.DealBatchRepository;
+import org.bloomberg.fx_deals.Repository.DealCopyRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +25,18 @@ public class DealService {
 
     private static final Logger logger = LoggerFactory.getLogger(DealService.class);
 
-    private final DealRepository dealRepository;
+    private final DealBatchRepository dealBatchRepository;
+    private final DealCopyRepository dealCopyRepository;
     private final DealMapper dealMapper;
+    private final DealIdFilter dealIdFilter;
+    private final ImportMetrics importMetrics;
+    private final AdaptiveBatchSizer adaptiveBatchSizer;
 
     /**
-     * Saves all deals individually, ensuring no rollback on failure.
-     * Already filtered duplicates by validation AOP.
+     * Saves deals in chunks sized by {@link AdaptiveBatchSizer}, one insert statement per chunk,
+     * ensuring no rollback across chunks. A failing chunk is bisected until the failing deals are isolated.
+     * Already filtered duplicates by validation AOP; deals inserted concurrently by someone else
+     * are reported as duplicates too.
      */
 
 //    @MarkFunction("SaveMultipleDeals")
@@ -38,22 +49,134 @@ public class DealService {
 
         List<String> successfulDeals = new ArrayList<>();
         List<String> failedDeals = new ArrayList<>();
+        List<String> duplicateDeals = new ArrayList<>();
 
+        List<Deal> deals = new ArrayList<>(dealDtos.size());
         for (DealDto dto : dealDtos) {
             try {
-                Deal deal = dealMapper.toEntity(dto); // catch mapping errors here
-                dealRepository.save(deal);
-                successfulDeals.add(deal.getDealUniqueId());
-                logger.info("Saved deal with ID: {}", deal.getDealUniqueId());
+                deals.add(dealMapper.toEntity(dto)); // catch mapping errors here
             } catch (Exception e) {
                 failedDeals.add(dto.getDealUniqueId());
-                logger.error("Failed to save deal with ID: {}. Error: {}", dto.getDealUniqueId(), e.getMessage(), e);
+                logger.error("Failed to map deal with ID: {}. Error: {}", dto.getDealUniqueId(), e.getMessage(), e);
             }
         }
 
-        logger.info("Import completed. Successful: {}, Failed: {}", successfulDeals.size(), failedDeals.size());
+        long start = System.nanoTime();
+        int from = 0;
+        while (from < deals.size()) {
+            // read per chunk, so a long import follows the database as it speeds up or slows down
+            int batchSize = adaptiveBatchSizer.currentBatchSize();
+            List<Deal> chunk = deals.subList(from, Math.min(from + batchSize, deals.size()));
+            persistChunk(chunk, true, successfulDeals, failedDeals, duplicateDeals);
+            from += chunk.size();
+        }
+        importMetrics.recordStage(ImportMetrics.Stage.PERSIST, System.nanoTime() - start);
+        importMetrics.recordOutcome(successfulDeals.size(), failedDeals.size(), duplicateDeals.size());
+
+        logger.info("Import completed. Successful: {}, Failed: {}, Duplicates at insert: {}",
+                successfulDeals.size(), failedDeals.size(), duplicateDeals.size());
+
+        return new ImportResultDto(successfulDeals, failedDeals, duplicateDeals);
+    }
 
-        return new ImportResultDto(successfulDeals, failedDeals);
+    /**
+     * Bulk mode for very large files: COPY into a staging table, then one set-based merge.
+     * Duplicates (stored or repeated in the payload) are worked out from the merge itself,
+     * so this path does not go through the duplicate-check AOP. The merge is all-or-nothing.
+     */
+    public ImportResultDto bulkImport(List<DealDto> dealDtos) {
+        if (dealDtos == null || dealDtos.isEmpty()) {
+            logger.warn("No deals provided for bulk import");
+            return new ImportResultDto(List.of(), List.of());
+        }
+
+        List<String> successfulDeals = new ArrayList<>();
+        List<String> failedDeals = new ArrayList<>();
+        List<String> duplicateDeals = new ArrayList<>();
+
+        List<Deal> deals = new ArrayList<>(dealDtos.size());
+        for (DealDto dto : dealDtos) {
+            try {
+                Deal deal = dealMapper.toEntity(dto);
+                if (deal.getDealTimestamp() == null || deal.getDealAmountInOrderingCurrency() == null) {
+                    throw new IllegalArgumentException("Deal timestamp and amount are required");
+                }
+                deals.add(deal);
+            } catch (Exception e) {
+                failedDeals.add(dto.getDealUniqueId());
+                logger.error("Failed to map deal with ID: {}. Error: {}", dto.getDealUniqueId(), e.getMessage(), e);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            importMetrics.recordWriteBatch(deals.size());
+            Set<String> inserted = dealCopyRepository.copyAndMerge(deals);
+            dealIdFilter.recordInserted(inserted);
+            Set<String> reported = new HashSet<>();
+            for (Deal deal : deals) {
+                String id = deal.getDealUniqueId();
+                if (inserted.contains(id) && reported.add(id)) {
+                    successfulDeals.add(id);
+                } else {
+                    duplicateDeals.add(id);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Bulk import of {} deals failed. Error: {}", deals.size(), e.getMessage(), e);
+            deals.forEach(deal -> failedDeals.add(deal.getDealUniqueId()));
+        }
+        importMetrics.recordStage(ImportMetrics.Stage.PERSIST, System.nanoTime() - start);
+        importMetrics.recordOutcome(successfulDeals.size(), failedDeals.size(), duplicateDeals.size());
+
+        logger.info("Bulk import completed. Successful: {}, Failed: {}, Duplicates: {}",
+                successfulDeals.size(), failedDeals.size(), duplicateDeals.size());
+
+        return new ImportResultDto(successfulDeals, failedDeals, duplicateDeals);
+    }
+
+    /**
+     * @param sized whether the chunk was cut by {@link AdaptiveBatchSizer}; the halves of a bisected chunk
+     *              are not, so their outcome is not fed back to it
+     */
+    private void persistChunk(List<Deal> chunk, boolean sized, List<String> successfulDeals, List<String> failedDeals,
+                              List<String> duplicateDeals) {
+        List<String> inserted;
+        try {
+            importMetrics.recordWriteBatch(chunk.size());
+            long start = System.nanoTime();
+            inserted = dealBatchRepository.insertIgnoringDuplicates(chunk);
+            if (sized) {
+                adaptiveBatchSizer.recordCommit(chunk.size(), System.nanoTime() - start);
+            }
+        } catch (Exception e) {
+            if (sized) {
+                adaptiveBatchSizer.recordFailure(chunk.size());
+            }
+            if (chunk.size() == 1) {
+                String id = chunk.get(0).getDealUniqueId();
+                failedDeals.add(id);
+                logger.error("Failed to save deal with ID: {}. Error: {}", id, e.getMessage(), e);
+                return;
+            }
+            // only an erroring chunk pays for the split; healthy chunks stay one round trip
+            logger.warn("Chunk of {} deals failed, bisecting. Error: {}", chunk.size(), e.getMessage());
+            int middle = chunk.size() / 2;
+            persistChunk(chunk.subList(0, middle), false, successfulDeals, failedDeals, duplicateDeals);
+            persistChunk(chunk.subList(middle, chunk.size()), false, successfulDeals, failedDeals, duplicateDeals);
+            return;
+        }
+
+        dealIdFilter.recordInserted(inserted);
+        Set<String> insertedIds = new HashSet<>(inserted);
+        for (Deal deal : chunk) {
+            if (insertedIds.contains(deal.getDealUniqueId())) {
+                successfulDeals.add(deal.getDealUniqueId());
+            } else {
+                duplicateDeals.add(deal.getDealUniqueId());
+            }
+        }
+        logger.debug("Saved chunk of {} deals, {} inserted", chunk.size(), inserted.size());
     }
 
 
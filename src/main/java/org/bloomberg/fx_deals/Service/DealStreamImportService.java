@@ -0,0 +1,206 @@
+package org.bloomberg.fx_deals.Service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.bloomberg.fx_deals.Config.BinaryFormatsConfig;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports deals chunk by chunk. The JSON variant reads the array straight from the request stream:
+ * deals are parsed one by one, validated and handed to {@link DealService#saveAll} in chunks of
+ * {@code fxdeals.import.stream-chunk-size}, so only one chunk of DTOs is on the heap at a time
+ * whatever the payload size. Smile and CBOR arrays are read the same way, by a copy of the application's
+ * ObjectMapper over the matching parser factory.
+ */
+@Service
+public class DealStreamImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DealStreamImportService.class);
+
+    private final ObjectMapper objectMapper;
+    private final DealDtoValidator dealDtoValidator;
+    private final DealService dealService;
+    private final ImportProperties importProperties;
+    private final ImportMetrics importMetrics;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    public DealStreamImportService(ObjectMapper objectMapper, DealDtoValidator dealDtoValidator, DealService dealService,
+                                   ImportProperties importProperties, ImportMetrics importMetrics) {
+        this.objectMapper = objectMapper;
+        this.dealDtoValidator = dealDtoValidator;
+        this.dealService = dealService;
+        this.importProperties = importProperties;
+        this.importMetrics = importMetrics;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+    }
+
+    /**
+     * Chunks already saved stay saved if the stream turns out to be malformed later on.
+     * Deals failing validation are reported as failed (by id, or by {@code #index} when the id is blank).
+     */
+    public ImportResultDto importStream(InputStream in) throws IOException {
+        return importStream(in, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * @param contentType JSON, {@link BinaryFormatsConfig#APPLICATION_SMILE} or {@link MediaType#APPLICATION_CBOR}
+     */
+    public ImportResultDto importStream(InputStream in, MediaType contentType) throws IOException {
+        List<String> successfulDeals = new ArrayList<>();
+        List<String> failedDeals = new ArrayList<>();
+        List<String> duplicateDeals = new ArrayList<>();
+
+        importStream(in, contentType, (success, failed, duplicates) -> {
+            successfulDeals.addAll(success);
+            failedDeals.addAll(failed);
+            duplicateDeals.addAll(duplicates);
+        });
+
+        return new ImportResultDto(successfulDeals, failedDeals, duplicateDeals);
+    }
+
+    /**
+     * Same as {@link #importStream(InputStream)} but hands every chunk outcome to the listener
+     * instead of collecting them, so nothing grows with the payload size.
+     */
+    public void importStream(InputStream in, ImportChunkListener listener) throws IOException {
+        importStream(in, MediaType.APPLICATION_JSON, listener);
+    }
+
+    public void importStream(InputStream in, MediaType contentType, ImportChunkListener listener) throws IOException {
+        ObjectMapper mapper = mapperFor(contentType);
+        int chunkSize = chunkSize();
+        List<DealDto> chunk = new ArrayList<>(chunkSize);
+        List<String> invalidDeals = new ArrayList<>();
+        int index = 0;
+        // binding and validation are interleaved with the reads, so their time is summed per chunk
+        long bindingNanos = 0;
+        long validationNanos = 0;
+
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of deals");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long start = System.nanoTime();
+                DealDto dto = mapper.readValue(parser, DealDto.class);
+                long bound = System.nanoTime();
+                List<Map<String, String>> violations = dealDtoValidator.validate(dto);
+                bindingNanos += bound - start;
+                validationNanos += System.nanoTime() - bound;
+                if (violations.isEmpty()) {
+                    chunk.add(dto);
+                } else {
+                    String id = dto.getDealUniqueId() == null || dto.getDealUniqueId().isBlank()
+                            ? "#" + index : dto.getDealUniqueId();
+                    invalidDeals.add(id);
+                    // reported in the failed-deal list; one WARN per invalid deal would flood the log
+                    logger.debug("Deal {} at index {} failed validation: {}", id, index, violations);
+                }
+                index++;
+
+                if (chunk.size() + invalidDeals.size() == chunkSize) {
+                    recordReadStages(bindingNanos, validationNanos);
+                    bindingNanos = 0;
+                    validationNanos = 0;
+                    saveChunk(chunk, invalidDeals, listener);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected an object for each deal");
+            }
+        }
+        if (!chunk.isEmpty() || !invalidDeals.isEmpty()) {
+            recordReadStages(bindingNanos, validationNanos);
+            saveChunk(chunk, invalidDeals, listener);
+        }
+
+        logger.info("Stream import of {} deals completed", index);
+    }
+
+    /**
+     * Saves an already bound and validated payload chunk by chunk, reporting each chunk as it commits.
+     */
+    public void importInChunks(List<DealDto> dealDtos, ImportChunkListener listener) throws IOException {
+        int chunkSize = chunkSize();
+        for (int from = 0; from < dealDtos.size(); from += chunkSize) {
+            List<DealDto> chunk = new ArrayList<>(dealDtos.subList(from, Math.min(from + chunkSize, dealDtos.size())));
+            saveChunk(chunk, new ArrayList<>(), listener);
+        }
+    }
+
+    /**
+     * Saves deals the caller already validated, chunk by chunk; the ones that failed validation are
+     * reported as failed along with the first chunk.
+     */
+    void importValidated(List<DealDto> dealDtos, List<String> invalidDeals, ImportChunkListener listener) throws IOException {
+        int chunkSize = chunkSize();
+        List<String> invalid = new ArrayList<>(invalidDeals);
+        for (int from = 0; from < dealDtos.size() || !invalid.isEmpty(); from += chunkSize) {
+            List<DealDto> chunk = new ArrayList<>(dealDtos.subList(Math.min(from, dealDtos.size()),
+                    Math.min(from + chunkSize, dealDtos.size())));
+            saveChunk(chunk, invalid, listener);
+        }
+    }
+
+    private ObjectMapper mapperFor(MediaType contentType) {
+        if (contentType == null || contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return objectMapper;
+        }
+        if (contentType.isCompatibleWith(BinaryFormatsConfig.APPLICATION_SMILE)) {
+            return smileMapper;
+        }
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+            return cborMapper;
+        }
+        throw new IllegalArgumentException("Unsupported stream import content type: " + contentType);
+    }
+
+    private int chunkSize() {
+        return Math.max(1, importProperties.getStreamChunkSize());
+    }
+
+    private void recordReadStages(long bindingNanos, long validationNanos) {
+        importMetrics.recordStage(ImportMetrics.Stage.BINDING, bindingNanos);
+        importMetrics.recordStage(ImportMetrics.Stage.VALIDATION, validationNanos);
+    }
+
+    private void saveChunk(List<DealDto> chunk, List<String> invalidDeals, ImportChunkListener listener) throws IOException {
+        importMetrics.recordOutcome(0, invalidDeals.size(), 0);
+        List<String> successfulDeals = List.of();
+        List<String> failedDeals = invalidDeals;
+        List<String> duplicateDeals = List.of();
+
+        if (!chunk.isEmpty()) {
+            ImportResultDto result = dealService.saveAll(List.copyOf(chunk));
+            successfulDeals = result.getSuccessfulDeals();
+            failedDeals = new ArrayList<>(invalidDeals);
+            failedDeals.addAll(result.getFailedDeals());
+            duplicateDeals = result.getDuplicateDeals();
+        }
+
+        listener.onChunk(successfulDeals, List.copyOf(failedDeals), duplicateDeals);
+        chunk.clear();
+        invalidDeals.clear();
+    }
+}
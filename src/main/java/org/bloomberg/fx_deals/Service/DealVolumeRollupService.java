@@ -0,0 +1,43 @@
+package org.bloomberg.fx_deals.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.bloomberg.fx_deals.Exceptions.InvalidDealQueryException;
+import org.bloomberg.fx_deals.Model.DTO.DealVolumeRollupDto;
+import org.bloomberg.fx_deals.Model.Entity.DealVolumeRollup.Granularity;
+import org.bloomberg.fx_deals.Repository.DealVolumeRollupRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Serves dashboard volume queries from the precomputed buckets only.
+ */
+@Service
+@RequiredArgsConstructor
+public class DealVolumeRollupService {
+
+    public static final int MAX_BUCKETS = 10_000;
+
+    private final DealVolumeRollupRepository dealVolumeRollupRepository;
+
+    public List<DealVolumeRollupDto> findBuckets(Granularity granularity, Instant from, Instant to,
+                                                 String fromCurrency, String toCurrency) {
+        if (granularity == null || from == null || to == null) {
+            throw new InvalidDealQueryException("granularity, from and to are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new InvalidDealQueryException("from must be before to");
+        }
+        // one extra row tells an oversized range apart from one that fits exactly
+        List<DealVolumeRollupDto> buckets = dealVolumeRollupRepository.findBuckets(granularity, from, to,
+                DealQueryService.currency("fromCurrency", fromCurrency),
+                DealQueryService.currency("toCurrency", toCurrency),
+                MAX_BUCKETS + 1);
+        if (buckets.size() > MAX_BUCKETS) {
+            throw new InvalidDealQueryException("More than " + MAX_BUCKETS
+                    + " buckets match; narrow the range, filter on a pair or use a coarser granularity");
+        }
+        return buckets;
+    }
+}
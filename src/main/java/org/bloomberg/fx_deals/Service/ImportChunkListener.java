@@ -0,0 +1,13 @@
+package org.bloomberg.fx_deals.Service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the outcome of every chunk of a chunked import as soon as that chunk is committed.
+ */
+@FunctionalInterface
+public interface ImportChunkListener {
+
+    void onChunk(List<String> successfulDeals, List<String> failedDeals, List<String> duplicateDeals) throws IOException;
+}
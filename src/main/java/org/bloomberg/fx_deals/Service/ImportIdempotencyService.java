@@ -0,0 +1,187 @@
+package org.bloomberg.fx_deals.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Exceptions.IdempotencyConflictException;
+import org.bloomberg.fx_deals.Repository.ImportIdempotencyRepository;
+import org.bloomberg.fx_deals.Repository.ImportIdempotencyRepository.StoredRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes {@code /api/deals/import} safe to retry. A request is keyed by its {@code Idempotency-Key} header or,
+ * without one, by the SHA-256 of its body and variant (mode and response flags): the same deals imported with
+ * {@code summary=true} or {@code mode=bulk} expect another response, so they never replay each other. The first request with a key claims it in {@code import_idempotency},
+ * runs the import and stores the response; later requests with the key get that response back without touching
+ * {@code deals}, and a request arriving while the first one still runs polls until its response is stored.
+ * <p>
+ * The claim lives in the database rather than in memory so that retries landing on another instance are
+ * covered too. A failed import releases its claim, so only successful responses are replayed.
+ */
+@Service
+public class ImportIdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportIdempotencyService.class);
+
+    private static final TypeReference<Map<String, Object>> RESPONSE_TYPE = new TypeReference<>() {
+    };
+    private static final long FIRST_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 1000;
+
+    private final ImportIdempotencyRepository importIdempotencyRepository;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties.Idempotency properties;
+
+    public ImportIdempotencyService(ImportIdempotencyRepository importIdempotencyRepository, ObjectMapper objectMapper,
+                                    ImportProperties importProperties) {
+        this.importIdempotencyRepository = importIdempotencyRepository;
+        this.objectMapper = objectMapper;
+        this.properties = importProperties.getIdempotency();
+    }
+
+    /**
+     * @param clientKey   value of the {@code Idempotency-Key} header, or null
+     * @param payloadHash hex SHA-256 of the request body, or null when it was not computed
+     * @param variant     endpoint variant and the parameters shaping its response, e.g. {@code mode=bulk&summary=true}
+     * @param importer    runs the import and returns the response body
+     */
+    public ImportResponse execute(String clientKey, String payloadHash, String variant,
+                                  Supplier<Map<String, Object>> importer) {
+        String requestHash = payloadHash != null ? sha256(variant + "\n" + payloadHash) : null;
+        String requestKey = requestKey(clientKey, requestHash);
+        if (requestKey == null) {
+            return new ImportResponse(importer.get(), false);
+        }
+        // without a body hash a reused client key is only told apart by its variant
+        String hash = requestHash != null ? requestHash : sha256(variant);
+
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        long pollMillis = FIRST_POLL_MILLIS;
+        while (true) {
+            if (importIdempotencyRepository.claim(requestKey, hash, properties.getInProgressTimeout())) {
+                return new ImportResponse(runAndStore(requestKey, importer), false);
+            }
+            Optional<StoredRequest> stored = importIdempotencyRepository.find(requestKey);
+            if (stored.isPresent()) {
+                StoredRequest request = stored.get();
+                if (!request.payloadHash().equals(hash)) {
+                    throw new IdempotencyConflictException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key was already used for a different payload");
+                }
+                if (request.completed()) {
+                    return new ImportResponse(readResponse(request.response()), true);
+                }
+            }
+            // still running elsewhere, or released/expired in between: wait and try to claim again
+            if (System.nanoTime() + pollMillis * 1_000_000 > deadline) {
+                throw new IdempotencyConflictException(HttpStatus.CONFLICT,
+                        "An identical import request is still in progress. Please retry later.");
+            }
+            sleep(pollMillis);
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT1M")
+    public void deleteExpired() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int deleted = importIdempotencyRepository.deleteExpired();
+            if (deleted > 0) {
+                logger.info("Deleted {} expired import idempotency records", deleted);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to delete expired import idempotency records: {}", e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> runAndStore(String requestKey, Supplier<Map<String, Object>> importer) {
+        Map<String, Object> response;
+        try {
+            response = importer.get();
+        } catch (RuntimeException | Error e) {
+            importIdempotencyRepository.release(requestKey);
+            throw e;
+        }
+        try {
+            importIdempotencyRepository.complete(requestKey, objectMapper.writeValueAsString(response),
+                    properties.getTtl());
+        } catch (Exception e) {
+            // the deals are saved; a retry will import again and report them as duplicates
+            logger.error("Failed to store import result for replay: {}", e.getMessage(), e);
+            releaseQuietly(requestKey);
+        }
+        return response;
+    }
+
+    private void releaseQuietly(String requestKey) {
+        try {
+            importIdempotencyRepository.release(requestKey);
+        } catch (Exception e) {
+            logger.warn("Failed to release idempotency claim, it expires with its lease: {}", e.getMessage());
+        }
+    }
+
+    private String requestKey(String clientKey, String requestHash) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        if (clientKey != null && !clientKey.isBlank()) {
+            // hashed so that any header value fits the column
+            return "client:" + sha256(clientKey);
+        }
+        if (properties.isHashPayloads() && requestHash != null) {
+            return "payload:" + requestHash;
+        }
+        return null;
+    }
+
+    private Map<String, Object> readResponse(String json) {
+        try {
+            return objectMapper.readValue(json, RESPONSE_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored import response is not valid JSON", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(HttpStatus.CONFLICT,
+                    "Interrupted while waiting for an identical import request.");
+        }
+    }
+
+    static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param replayed true when the body comes from an earlier request with the same key
+     */
+    public record ImportResponse(Map<String, Object> body, boolean replayed) {
+    }
+}
@@ -0,0 +1,199 @@
+package org.bloomberg.fx_deals.Service;
+
+import jakarta.annotation.PreDestroy;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Exceptions.ImportQueueFullException;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportJobDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.bloomberg.fx_deals.Security.ImportAdmission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs imports in the background so the request thread returns immediately with a job id.
+ * A fixed number of workers drain a bounded queue; when it is full, in jobs or in deals held by
+ * queued and running jobs, new jobs are rejected, which pushes back on clients instead of piling
+ * up payloads on the heap. A running job holds an
+ * {@link ImportAdmission} slot, so jobs and synchronous imports together stay within the connection pool.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final DealStreamImportService dealStreamImportService;
+    private final ImportMetrics importMetrics;
+    private final ImportAdmission importAdmission;
+    private final ImportProperties.Jobs jobProperties;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore queuedDeals;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(DealStreamImportService dealStreamImportService, ImportMetrics importMetrics,
+                            ImportAdmission importAdmission, ImportProperties importProperties,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.dealStreamImportService = dealStreamImportService;
+        this.importMetrics = importMetrics;
+        this.importAdmission = importAdmission;
+        this.jobProperties = importProperties.getJobs();
+
+        // the pool size still bounds concurrent jobs; virtual workers just don't pin a platform thread while waiting on the DB
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("import-job-", 1).factory()
+                : Thread.ofPlatform().name("import-job-", 1).factory();
+        this.executor = new ThreadPoolExecutor(jobProperties.getWorkers(), jobProperties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(jobProperties.getQueueCapacity()),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.queuedDeals = new Semaphore(jobProperties.getMaxQueuedDeals());
+    }
+
+    /**
+     * Queues the deals for import.
+     *
+     * @throws ImportQueueFullException when the queue is at capacity, in jobs or in deals
+     */
+    public ImportJobDto submit(List<DealDto> dealDtos) {
+        purgeExpiredJobs();
+
+        int maxQueuedDeals = jobProperties.getMaxQueuedDeals();
+        int permits = Math.min(dealDtos.size(), maxQueuedDeals);
+        if (!queuedDeals.tryAcquire(permits)) {
+            logger.warn("Rejected import job of {} deals: deal queue is full", dealDtos.size());
+            throw new ImportQueueFullException(maxQueuedDeals - queuedDeals.availablePermits(), maxQueuedDeals);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), dealDtos);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, permits));
+        } catch (RejectedExecutionException e) {
+            queuedDeals.release(permits);
+            jobs.remove(job.id);
+            logger.warn("Rejected import job of {} deals: queue is full", dealDtos.size());
+            throw new ImportQueueFullException(jobProperties.getQueueCapacity());
+        }
+        logger.info("Queued import job {} with {} deals", job.id, job.totalDeals);
+        return job.toDto();
+    }
+
+    public Optional<ImportJobDto> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toDto);
+    }
+
+    private void run(ImportJob job, int dealPermits) {
+        List<DealDto> dealDtos = job.takePayload();
+        try {
+            importAdmission.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queuedDeals.release(dealPermits);
+            job.error = "Interrupted before the import started";
+            job.status = ImportJobDto.Status.FAILED;
+            job.finishedAt = Instant.now();
+            return;
+        }
+        job.status = ImportJobDto.Status.RUNNING;
+        job.startedAt = Instant.now();
+        try (ImportMetrics.ImportScope ignored = importMetrics.startImport("async")) {
+            dealStreamImportService.importInChunks(dealDtos, job::onChunk);
+            job.status = ImportJobDto.Status.COMPLETED;
+            logger.info("Import job {} completed. Successful: {}, Failed: {}, Duplicates: {}",
+                    job.id, job.successfulDeals.size(), job.failedDeals.size(), job.duplicateDeals.size());
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = ImportJobDto.Status.FAILED;
+            logger.error("Import job {} failed. Error: {}", job.id, e.getMessage(), e);
+        } finally {
+            importAdmission.release();
+            queuedDeals.release(dealPermits);
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(jobProperties.getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Mutable job state: written by its worker, read by status requests.
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final Instant submittedAt = Instant.now();
+        private final int totalDeals;
+        private volatile List<DealDto> payload;
+
+        private volatile ImportJobDto.Status status = ImportJobDto.Status.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private final List<String> successfulDeals = new ArrayList<>();
+        private final List<String> failedDeals = new ArrayList<>();
+        private final List<String> duplicateDeals = new ArrayList<>();
+
+        private ImportJob(String id, List<DealDto> payload) {
+            this.id = id;
+            this.payload = payload;
+            this.totalDeals = payload.size();
+        }
+
+        // the payload is only needed until the worker picks the job up
+        private List<DealDto> takePayload() {
+            List<DealDto> dealDtos = payload;
+            payload = null;
+            return dealDtos;
+        }
+
+        private synchronized void onChunk(List<String> success, List<String> failed, List<String> duplicates) {
+            successfulDeals.addAll(success);
+            failedDeals.addAll(failed);
+            duplicateDeals.addAll(duplicates);
+        }
+
+        private synchronized ImportJobDto toDto() {
+            ImportJobDto.ImportJobDtoBuilder dto = ImportJobDto.builder()
+                    .jobId(id)
+                    .status(status)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .totalDeals(totalDeals)
+                    .processedDeals(successfulDeals.size() + failedDeals.size() + duplicateDeals.size())
+                    .successCount(successfulDeals.size())
+                    .failCount(failedDeals.size())
+                    .duplicateCount(duplicateDeals.size())
+                    .error(error);
+            if (status == ImportJobDto.Status.COMPLETED) {
+                dto.result(new ImportResultDto(List.copyOf(successfulDeals), List.copyOf(failedDeals),
+                        List.copyOf(duplicateDeals)));
+            }
+            return dto.build();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+-- Schema as it was created by spring.jpa.hibernate.ddl-auto=update before migrations took over.
+-- Existing databases are baselined at version 0 (spring.flyway.baseline-on-migrate), so this script runs
+-- on them too: every statement is a no-op on a schema that is already current, and brings older ones up to date.
+
+CREATE TABLE IF NOT EXISTS deals (
+    deal_unique_id varchar(255) NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    deal_amount_in_ordering_currency numeric(17,2) NOT NULL,
+    deal_timestamp timestamp(6) with time zone NOT NULL,
+    from_currency_iso_code smallint NOT NULL,
+    to_currency_iso_code smallint NOT NULL,
+    PRIMARY KEY (deal_unique_id)
+);
+
+-- Databases created before the currency columns became smallint codes (see CurrencyCodes) still hold the
+-- three-letter codes: rewrite them in place. ISO codes map to their numeric code, others to 1000 + base-26 value.
+CREATE FUNCTION pg_temp.fx_currency_code(alpha text) RETURNS smallint
+    LANGUAGE sql IMMUTABLE STRICT AS $$
+SELECT coalesce(
+    (SELECT iso.code FROM (VALUES
+        ('ADP', 20), ('AED', 784), ('AFA', 4), ('AFN', 971), ('ALL', 8), ('AMD', 51), ('ANG', 532),
+        ('AOA', 973), ('ARS', 32), ('ATS', 40), ('AUD', 36), ('AWG', 533), ('AYM', 945), ('AZM', 31),
+        ('AZN', 944), ('BAM', 977), ('BBD', 52), ('BDT', 50), ('BEF', 56), ('BGL', 100), ('BGN', 975),
+        ('BHD', 48), ('BIF', 108), ('BMD', 60), ('BND', 96), ('BOB', 68), ('BOV', 984), ('BRL', 986),
+        ('BSD', 44), ('BTN', 64), ('BWP', 72), ('BYB', 112), ('BYN', 933), ('BYR', 974), ('BZD', 84),
+        ('CAD', 124), ('CDF', 976), ('CHE', 947), ('CHF', 756), ('CHW', 948), ('CLF', 990), ('CLP', 152),
+        ('CNY', 156), ('COP', 170), ('COU', 970), ('CRC', 188), ('CSD', 891), ('CUC', 931), ('CUP', 192),
+        ('CVE', 132), ('CYP', 196), ('CZK', 203), ('DEM', 276), ('DJF', 262), ('DKK', 208), ('DOP', 214),
+        ('DZD', 12), ('EEK', 233), ('EGP', 818), ('ERN', 232), ('ESP', 724), ('ETB', 230), ('EUR', 978),
+        ('FIM', 246), ('FJD', 242), ('FKP', 238), ('FRF', 250), ('GBP', 826), ('GEL', 981), ('GHC', 288),
+        ('GHS', 936), ('GIP', 292), ('GMD', 270), ('GNF', 324), ('GRD', 300), ('GTQ', 320), ('GWP', 624),
+        ('GYD', 328), ('HKD', 344), ('HNL', 340), ('HRK', 191), ('HTG', 332), ('HUF', 348), ('IDR', 360),
+        ('IEP', 372), ('ILS', 376), ('INR', 356), ('IQD', 368), ('IRR', 364), ('ISK', 352), ('ITL', 380),
+        ('JMD', 388), ('JOD', 400), ('JPY', 392), ('KES', 404), ('KGS', 417), ('KHR', 116), ('KMF', 174),
+        ('KPW', 408), ('KRW', 410), ('KWD', 414), ('KYD', 136), ('KZT', 398), ('LAK', 418), ('LBP', 422),
+        ('LKR', 144), ('LRD', 430), ('LSL', 426), ('LTL', 440), ('LUF', 442), ('LVL', 428), ('LYD', 434),
+        ('MAD', 504), ('MDL', 498), ('MGA', 969), ('MGF', 450), ('MKD', 807), ('MMK', 104), ('MNT', 496),
+        ('MOP', 446), ('MRO', 478), ('MRU', 929), ('MTL', 470), ('MUR', 480), ('MVR', 462), ('MWK', 454),
+        ('MXN', 484), ('MXV', 979), ('MYR', 458), ('MZM', 508), ('MZN', 943), ('NAD', 516), ('NGN', 566),
+        ('NIO', 558), ('NLG', 528), ('NOK', 578), ('NPR', 524), ('NZD', 554), ('OMR', 512), ('PAB', 590),
+        ('PEN', 604), ('PGK', 598), ('PHP', 608), ('PKR', 586), ('PLN', 985), ('PTE', 620), ('PYG', 600),
+        ('QAR', 634), ('ROL', 642), ('RON', 946), ('RSD', 941), ('RUB', 643), ('RUR', 810), ('RWF', 646),
+        ('SAR', 682), ('SBD', 90), ('SCR', 690), ('SDD', 736), ('SDG', 938), ('SEK', 752), ('SGD', 702),
+        ('SHP', 654), ('SIT', 705), ('SKK', 703), ('SLE', 925), ('SLL', 694), ('SOS', 706), ('SRD', 968),
+        ('SRG', 740), ('SSP', 728), ('STD', 678), ('STN', 930), ('SVC', 222), ('SYP', 760), ('SZL', 748),
+        ('THB', 764), ('TJS', 972), ('TMM', 795), ('TMT', 934), ('TND', 788), ('TOP', 776), ('TPE', 626),
+        ('TRL', 792), ('TRY', 949), ('TTD', 780), ('TWD', 901), ('TZS', 834), ('UAH', 980), ('UGX', 800),
+        ('USD', 840), ('USN', 997), ('USS', 998), ('UYI', 940), ('UYU', 858), ('UZS', 860), ('VEB', 862),
+        ('VED', 926), ('VEF', 937), ('VES', 928), ('VND', 704), ('VUV', 548), ('WST', 882), ('XAF', 950),
+        ('XAG', 961), ('XAU', 959), ('XBA', 955), ('XBB', 956), ('XBC', 957), ('XBD', 958), ('XCD', 951),
+        ('XDR', 960), ('XOF', 952), ('XPD', 964), ('XPF', 953), ('XPT', 962), ('XSU', 994), ('XTS', 963),
+        ('XUA', 965), ('XXX', 999), ('YER', 886), ('ZAR', 710), ('ZMK', 894), ('ZMW', 967), ('ZWD', 716),
+        ('ZWL', 932), ('ZWN', 942), ('ZWR', 935)
+    ) AS iso(alpha, code) WHERE iso.alpha = $1),
+    1000 + (ascii(substr($1, 1, 1)) - 65) * 676 + (ascii(substr($1, 2, 1)) - 65) * 26 + (ascii(substr($1, 3, 1)) - 65)
+)::smallint
+$$;
+
+DO $$
+BEGIN
+    IF (SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'deals'
+          AND column_name = 'from_currency_iso_code') = 'character varying' THEN
+        -- Hibernate may already have added it on top of the varchar columns
+        ALTER TABLE deals DROP COLUMN IF EXISTS currency_pair_id;
+        ALTER TABLE deals
+            ALTER COLUMN from_currency_iso_code TYPE smallint USING pg_temp.fx_currency_code(from_currency_iso_code),
+            ALTER COLUMN to_currency_iso_code TYPE smallint USING pg_temp.fx_currency_code(to_currency_iso_code);
+    END IF;
+END
+$$;
+
+ALTER TABLE deals ADD COLUMN IF NOT EXISTS currency_pair_id integer
+    GENERATED ALWAYS AS ((from_currency_iso_code::integer << 15) | to_currency_iso_code) STORED;
+
+-- keyset pagination of GET /api/deals
+CREATE INDEX IF NOT EXISTS idx_deals_timestamp_id ON deals (deal_timestamp, deal_unique_id);
+CREATE INDEX IF NOT EXISTS idx_deals_pair_timestamp_id ON deals (currency_pair_id, deal_timestamp, deal_unique_id);
+
+CREATE TABLE IF NOT EXISTS deal_volume_rollups (
+    bucket_start timestamp(6) with time zone NOT NULL,
+    currency_pair_id integer NOT NULL,
+    granularity varchar(6) NOT NULL CHECK (granularity IN ('MINUTE', 'HOUR', 'DAY')),
+    deal_count bigint NOT NULL,
+    total_amount numeric(38,2) NOT NULL,
+    PRIMARY KEY (bucket_start, currency_pair_id, granularity)
+);
+
+CREATE INDEX IF NOT EXISTS idx_deal_volume_rollups_pair_bucket
+    ON deal_volume_rollups (granularity, currency_pair_id, bucket_start);
+
+-- Rollups are kept up to date by every import; a database that stored deals before they existed starts empty.
+INSERT INTO deal_volume_rollups (granularity, currency_pair_id, bucket_start, deal_count, total_amount)
+SELECT g.granularity, d.currency_pair_id, date_trunc(g.unit, d.deal_timestamp, 'UTC'),
+       count(*), sum(d.deal_amount_in_ordering_currency)
+FROM deals d
+CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit)
+WHERE NOT EXISTS (SELECT 1 FROM deal_volume_rollups)
+GROUP BY 1, 2, 3;
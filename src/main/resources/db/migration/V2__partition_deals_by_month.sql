@@ -0,0 +1,87 @@
+-- Turns deals into a table partitioned by UTC month of deal_timestamp, so that time-range reads prune to
+-- the months they cover, and vacuum and index maintenance work on one month at a time.
+--
+-- A primary key of a partitioned table must contain the partition key, which would only make
+-- (deal_unique_id, deal_timestamp) unique. deal_ids keeps deal_unique_id unique across all partitions:
+-- the write path claims each id there first and only inserts the deals whose claim succeeded.
+--
+-- Existing rows are copied in this migration, inside its transaction; on a large table plan for the downtime.
+
+CREATE TABLE deal_ids (
+    deal_unique_id varchar(255) NOT NULL,
+    deal_timestamp timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (deal_unique_id)
+);
+
+ALTER TABLE deals RENAME TO deals_unpartitioned;
+DROP INDEX idx_deals_timestamp_id;
+DROP INDEX idx_deals_pair_timestamp_id;
+
+CREATE TABLE deals (
+    deal_unique_id varchar(255) NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    deal_amount_in_ordering_currency numeric(17,2) NOT NULL,
+    deal_timestamp timestamp(6) with time zone NOT NULL,
+    from_currency_iso_code smallint NOT NULL,
+    to_currency_iso_code smallint NOT NULL,
+    currency_pair_id integer GENERATED ALWAYS AS ((from_currency_iso_code::integer << 15) | to_currency_iso_code) STORED,
+    PRIMARY KEY (deal_unique_id, deal_timestamp)
+) PARTITION BY RANGE (deal_timestamp);
+
+CREATE INDEX idx_deals_timestamp_id ON deals (deal_timestamp, deal_unique_id);
+CREATE INDEX idx_deals_pair_timestamp_id ON deals (currency_pair_id, deal_timestamp, deal_unique_id);
+
+-- deals outside every monthly partition (far past or future) land here instead of failing the import
+CREATE TABLE deals_default PARTITION OF deals DEFAULT;
+
+-- Creates the partition of the UTC month containing month_day, named deals_pYYYYMM, unless it exists.
+-- Rows of that month already in deals_default are moved into it: attaching a range the default partition
+-- still holds rows for would fail. Called by DealPartitionMaintainer for the months ahead.
+CREATE FUNCTION fx_create_deal_partition(month_day date) RETURNS boolean
+    LANGUAGE plpgsql AS $$
+DECLARE
+    first_day date := date_trunc('month', month_day)::date;
+    lower_bound timestamptz := first_day::timestamp AT TIME ZONE 'UTC';
+    upper_bound timestamptz := (first_day + interval '1 month')::timestamp AT TIME ZONE 'UTC';
+    partition_name text := 'deals_p' || to_char(first_day, 'YYYYMM');
+BEGIN
+    -- several instances run the maintainer; the lock is released at commit
+    PERFORM pg_advisory_xact_lock(hashtext('fx_create_deal_partition'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE deals INCLUDING DEFAULTS INCLUDING GENERATED)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM deals_default WHERE deal_timestamp >= $1 AND deal_timestamp < $2 '
+                       'RETURNING deal_unique_id, created_at, deal_amount_in_ordering_currency, deal_timestamp, '
+                       'from_currency_iso_code, to_currency_iso_code) '
+                       'INSERT INTO %I (deal_unique_id, created_at, deal_amount_in_ordering_currency, deal_timestamp, '
+                       'from_currency_iso_code, to_currency_iso_code) SELECT * FROM moved', partition_name)
+        USING lower_bound, upper_bound;
+    EXECUTE format('ALTER TABLE deals ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN true;
+END
+$$;
+
+-- one partition per month that holds deals, plus the current month and the next three
+SELECT fx_create_deal_partition(month_day)
+FROM (
+    SELECT DISTINCT date_trunc('month', deal_timestamp AT TIME ZONE 'UTC')::date AS month_day
+    FROM deals_unpartitioned
+    UNION
+    SELECT (date_trunc('month', now() AT TIME ZONE 'UTC') + n * interval '1 month')::date
+    FROM generate_series(0, 3) AS n
+) months
+ORDER BY month_day;
+
+INSERT INTO deals (deal_unique_id, created_at, deal_amount_in_ordering_currency, deal_timestamp,
+                   from_currency_iso_code, to_currency_iso_code)
+SELECT deal_unique_id, created_at, deal_amount_in_ordering_currency, deal_timestamp,
+       from_currency_iso_code, to_currency_iso_code
+FROM deals_unpartitioned;
+
+INSERT INTO deal_ids (deal_unique_id, deal_timestamp)
+SELECT deal_unique_id, deal_timestamp FROM deals_unpartitioned;
+
+DROP TABLE deals_unpartitioned;
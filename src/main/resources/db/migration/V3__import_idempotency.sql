@@ -0,0 +1,14 @@
+-- Results of /api/deals/import requests, keyed by the client's Idempotency-Key or by the payload hash,
+-- so a retried request is answered from here instead of being imported again. See ImportIdempotencyService.
+CREATE TABLE import_idempotency (
+    request_key varchar(80) NOT NULL,
+    payload_hash char(64) NOT NULL,
+    status varchar(11) NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response jsonb,
+    created_at timestamp(6) with time zone NOT NULL,
+    -- end of the TTL once completed, end of the lease while in progress
+    expires_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (request_key)
+);
+
+CREATE INDEX idx_import_idempotency_expires_at ON import_idempotency (expires_at);
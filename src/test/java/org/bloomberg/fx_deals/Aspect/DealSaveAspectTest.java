@@ -1,14 +1,16 @@
 package org.bloomberg.fx_deals.Aspect;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bloomberg.fx_deals.Corevalidation.DealCoreValidation;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
 import org.bloomberg.fx_deals.Model.DTO.DealDto;
 import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
-import org.bloomberg.fx_deals.Context.DuplicateDealsContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.aspectj.lang.ProceedingJoinPoint;
 
@@ -17,9 +19,10 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +34,9 @@ class DealSaveAspectTest {
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
+    @Spy
+    private ImportMetrics importMetrics = new ImportMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private DealSaveAspect dealSaveAspect;
 
@@ -43,22 +49,21 @@ class DealSaveAspectTest {
                 createDealDto("DEAL002"),
                 createDealDto("DEAL003")
         );
-        DuplicateDealsContext.clear();
     }
 
     @Test
     void filterDuplicatesBeforeSave_AllUnique_ProceedsWithAllDeals() throws Throwable {
         // Given
-        when(coreValidation.isDealUnique("DEAL001")).thenReturn(true);
-        when(coreValidation.isDealUnique("DEAL002")).thenReturn(true);
-        when(coreValidation.isDealUnique("DEAL003")).thenReturn(true);
-        when(proceedingJoinPoint.proceed(any())).thenReturn("success");
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of());
+        when(proceedingJoinPoint.proceed(any())).thenReturn(
+                new ImportResultDto(List.of("DEAL001", "DEAL002", "DEAL003"), List.of()));
 
         // When
-        Object result = dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, dealDtos);
+        ImportResultDto result = (ImportResultDto) dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, dealDtos);
 
         // Then
-        assertEquals("success", result);
+        assertEquals(List.of("DEAL001", "DEAL002", "DEAL003"), result.getSuccessfulDeals());
+        assertTrue(result.getDuplicateDeals().isEmpty());
         verify(proceedingJoinPoint).proceed(argThat(args -> {
             List<DealDto> filtered = (List<DealDto>) args[0];
             return filtered.size() == 3 && 
@@ -71,16 +76,15 @@ class DealSaveAspectTest {
     @Test
     void filterDuplicatesBeforeSave_SomeDuplicates_FiltersOutDuplicates() throws Throwable {
         // Given
-        when(coreValidation.isDealUnique("DEAL001")).thenReturn(true);
-        when(coreValidation.isDealUnique("DEAL002")).thenReturn(false); // Duplicate
-        when(coreValidation.isDealUnique("DEAL003")).thenReturn(true);
-        when(proceedingJoinPoint.proceed(any())).thenReturn("success");
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of("DEAL002"));
+        when(proceedingJoinPoint.proceed(any())).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of(), List.of("DEAL003")));
 
         // When
-        Object result = dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, dealDtos);
+        ImportResultDto result = (ImportResultDto) dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, dealDtos);
 
-        // Then
-        assertEquals("success", result);
+        // Then: stored duplicates first, then the ones only caught at insert time
+        assertEquals(List.of("DEAL001"), result.getSuccessfulDeals());
+        assertEquals(List.of("DEAL002", "DEAL003"), result.getDuplicateDeals());
         verify(proceedingJoinPoint).proceed(argThat(args -> {
             List<DealDto> filtered = (List<DealDto>) args[0];
             return filtered.size() == 2 && 
@@ -92,9 +96,7 @@ class DealSaveAspectTest {
     @Test
     void filterDuplicatesBeforeSave_AllDuplicates_ReturnsImportResultDto() throws Throwable {
         // Given
-        when(coreValidation.isDealUnique("DEAL001")).thenReturn(false);
-        when(coreValidation.isDealUnique("DEAL002")).thenReturn(false);
-        when(coreValidation.isDealUnique("DEAL003")).thenReturn(false);
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of("DEAL001", "DEAL002", "DEAL003"));
 
         // When
         Object result = dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, dealDtos);
@@ -104,6 +106,7 @@ class DealSaveAspectTest {
         ImportResultDto resultDto = (ImportResultDto) result;
         assertTrue(resultDto.getSuccessfulDeals().isEmpty());
         assertTrue(resultDto.getFailedDeals().isEmpty());
+        assertEquals(List.of("DEAL001", "DEAL002", "DEAL003"), resultDto.getDuplicateDeals());
         verify(proceedingJoinPoint, never()).proceed(any());
     }
 
@@ -121,15 +124,13 @@ class DealSaveAspectTest {
         assertTrue(resultDto.getSuccessfulDeals().isEmpty());
         assertTrue(resultDto.getFailedDeals().isEmpty());
         verify(proceedingJoinPoint, never()).proceed(any());
-        verify(coreValidation, never()).isDealUnique(anyString());
+        verify(coreValidation, never()).findExistingDealIds(anyCollection());
     }
 
     @Test
     void filterDuplicatesBeforeSave_ProceedingJoinPointThrowsException_PropagatesException() throws Throwable {
         // Given
-        when(coreValidation.isDealUnique("DEAL001")).thenReturn(true);
-        when(coreValidation.isDealUnique("DEAL002")).thenReturn(true);
-        when(coreValidation.isDealUnique("DEAL003")).thenReturn(true);
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of());
         when(proceedingJoinPoint.proceed(any())).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
@@ -152,21 +153,21 @@ class DealSaveAspectTest {
         assertTrue(resultDto.getSuccessfulDeals().isEmpty());
         assertTrue(resultDto.getFailedDeals().isEmpty());
         verify(proceedingJoinPoint, never()).proceed(any());
-        verify(coreValidation, never()).isDealUnique(anyString());
+        verify(coreValidation, never()).findExistingDealIds(anyCollection());
     }
 
     @Test
     void filterDuplicatesBeforeSave_SingleDeal_Unique() throws Throwable {
         // Given
         List<DealDto> singleDeal = Arrays.asList(createDealDto("DEAL001"));
-        when(coreValidation.isDealUnique("DEAL001")).thenReturn(true);
-        when(proceedingJoinPoint.proceed(any())).thenReturn("success");
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of());
+        when(proceedingJoinPoint.proceed(any())).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of()));
 
         // When
-        Object result = dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, singleDeal);
+        ImportResultDto result = (ImportResultDto) dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, singleDeal);
 
         // Then
-        assertEquals("success", result);
+        assertEquals(List.of("DEAL001"), result.getSuccessfulDeals());
         verify(proceedingJoinPoint).proceed(argThat(args -> {
             List<DealDto> filtered = (List<DealDto>) args[0];
             return filtered.size() == 1 && filtered.get(0).getDealUniqueId().equals("DEAL001");
@@ -177,7 +178,7 @@ class DealSaveAspectTest {
     void filterDuplicatesBeforeSave_SingleDeal_Duplicate() throws Throwable {
         // Given
         List<DealDto> singleDeal = Arrays.asList(createDealDto("DEAL001"));
-        when(coreValidation.isDealUnique("DEAL001")).thenReturn(false);
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of("DEAL001"));
 
         // When
         Object result = dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, singleDeal);
@@ -187,9 +188,34 @@ class DealSaveAspectTest {
         ImportResultDto resultDto = (ImportResultDto) result;
         assertTrue(resultDto.getSuccessfulDeals().isEmpty());
         assertTrue(resultDto.getFailedDeals().isEmpty());
+        assertEquals(List.of("DEAL001"), resultDto.getDuplicateDeals());
         verify(proceedingJoinPoint, never()).proceed(any());
     }
 
+    @Test
+    void filterDuplicatesBeforeSave_RepeatedIdsInPayload_KeepsFirstOccurrenceOnly() throws Throwable {
+        // Given
+        List<DealDto> repeated = Arrays.asList(
+                createDealDto("DEAL001"),
+                createDealDto("DEAL002"),
+                createDealDto("DEAL001"),
+                createDealDto("DEAL002")
+        );
+        when(coreValidation.findExistingDealIds(anyCollection())).thenReturn(Set.of("DEAL002"));
+        when(proceedingJoinPoint.proceed(any())).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of()));
+
+        // When
+        ImportResultDto result = (ImportResultDto) dealSaveAspect.filterDuplicatesBeforeSave(proceedingJoinPoint, repeated);
+
+        // Then
+        verify(coreValidation).findExistingDealIds(argThat(ids -> ids.size() == 2));
+        verify(proceedingJoinPoint).proceed(argThat(args -> {
+            List<DealDto> filtered = (List<DealDto>) args[0];
+            return filtered.size() == 1 && filtered.get(0).getDealUniqueId().equals("DEAL001");
+        }));
+        assertEquals(List.of("DEAL002", "DEAL001", "DEAL002"), result.getDuplicateDeals());
+    }
+
     private DealDto createDealDto(String dealId) {
         return DealDto.builder()
                 .dealUniqueId(dealId)
@@ -1,42 +1,405 @@
 package org.bloomberg.fx_deals.Controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.bloomberg.fx_deals.Context.DuplicateDealsContext;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.bloomberg.fx_deals.Config.BinaryFormatsConfig;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Exceptions.InvalidCsvException;
+import org.bloomberg.fx_deals.Model.DTO.CsvRowErrorDto;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.DealPageDto;
+import org.bloomberg.fx_deals.Model.DTO.DealSearchCriteria;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.bloomberg.fx_deals.Security.ImportAdmission;
+import org.bloomberg.fx_deals.Service.DealCsvImportService;
+import org.bloomberg.fx_deals.Service.DealQueryService;
 import org.bloomberg.fx_deals.Service.DealService;
+import org.bloomberg.fx_deals.Service.DealStreamImportService;
+import org.bloomberg.fx_deals.Service.DealVolumeRollupService;
+import org.bloomberg.fx_deals.Service.ImportChunkListener;
+import org.bloomberg.fx_deals.Service.ImportIdempotencyService;
+import org.bloomberg.fx_deals.Service.ImportJobService;
 import org.bloomberg.fx_deals.Helpers.ControllerHelper;
-import org.junit.jupiter.api.AfterEach;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DealController.class)
+@Import({DealDtoValidator.class, BinaryFormatsConfig.class})
+@EnableConfigurationProperties(ImportProperties.class)
 @ActiveProfiles("test")
 class DealControllerEnhancedTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private ImportMetrics importMetrics;
+
     @MockBean
     private DealService dealService;
 
     @MockBean
+    private DealQueryService dealQueryService;
+
+    @MockBean
+    private DealVolumeRollupService dealVolumeRollupService;
+
+    @MockBean
+    private DealStreamImportService dealStreamImportService;
+
+    @MockBean
+    private DealCsvImportService dealCsvImportService;
+
+    @MockBean
+    private ImportJobService importJobService;
+
+    @MockBean
+    private ImportIdempotencyService importIdempotencyService;
+
+    // real body assembly, notifications stubbed per test
+    @SpyBean
     private ControllerHelper controllerHelper;
 
+    @MockBean
+    private ImportAdmission importAdmission;
+
+    // @EnableJpaAuditing on the application class needs a mapping context even in web slices
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
-    @AfterEach
-    void clearContext() {
-        DuplicateDealsContext.clear();
+    @SuppressWarnings("unchecked")
+    void runImportsDirectly() {
+        when(importIdempotencyService.execute(any(), any(), any(), any())).thenAnswer(invocation ->
+                new ImportIdempotencyService.ImportResponse(
+                        ((Supplier<Map<String, Object>>) invocation.getArgument(3)).get(), false));
+    }
+
+    @Test
+    void importDeals_DefaultAccept_ReturnsJsonResult() throws Exception {
+        when(dealService.saveAll(any())).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of()));
+        when(controllerHelper.getUserNotification(1, 0, 0)).thenReturn("All deals imported successfully.");
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDeal("DEAL001")))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.successfulDeals[0]").value("DEAL001"));
+    }
+
+    @Test
+    void importDeals_SmileBodyAndAccept_ReturnsSmileResult() throws Exception {
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        when(dealService.saveAll(List.of(validDeal("DEAL001")))).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of()));
+
+        MvcResult result = mockMvc.perform(post("/api/deals/import")
+                        .contentType(BinaryFormatsConfig.APPLICATION_SMILE)
+                        .accept(BinaryFormatsConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(List.of(validDeal("DEAL001")))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        Map<String, Object> body = smileMapper.readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<>() {});
+        assertEquals(List.of("DEAL001"), body.get("successfulDeals"));
+    }
+
+    @Test
+    void importDeals_CborBodyWithoutAccept_ReturnsJsonAndValidatesTheSameWay() throws Exception {
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        DealDto invalid = validDeal("DEAL002");
+        invalid.setDealAmountInOrderingCurrency(new BigDecimal("-2"));
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(List.of(validDeal("DEAL001"), invalid))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errors['1'][0].property").value("dealAmountInOrderingCurrency"));
+
+        verifyNoInteractions(dealService);
+    }
+
+    @Test
+    void importDealsStream_CborBody_ParsedByContentType() throws Exception {
+        doReturn(new ImportResultDto(List.of("DEAL001"), List.of()))
+                .when(dealStreamImportService).importStream(any(), eq(MediaType.APPLICATION_CBOR));
+
+        mockMvc.perform(post("/api/deals/import")
+                        .param("mode", "stream")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(objectMapper.copyWith(new CBORFactory()).writeValueAsBytes(List.of(validDeal("DEAL001")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulDeals[0]").value("DEAL001"));
+
+        // streamed deals are only counted once imported
+        verify(importAdmission).chargeDeals(any(HttpServletRequest.class), eq(1));
+    }
+
+    @Test
+    void importDeals_BoundDealsChargedToAdmittedClientBeforeImport() throws Exception {
+        doReturn(new ImportResultDto(List.of("DEAL001", "DEAL002"), List.of())).when(dealService).saveAll(any());
+
+        mockMvc.perform(post("/api/deals/import")
+                        .requestAttr(ImportAdmission.CLIENT_ATTRIBUTE, "10.0.0.1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDeal("DEAL001"), validDeal("DEAL002")))))
+                .andExpect(status().isOk());
+
+        InOrder inOrder = inOrder(importAdmission, dealService);
+        inOrder.verify(importAdmission).chargeDeals("10.0.0.1", 2);
+        inOrder.verify(dealService).saveAll(any());
     }
 
+    @Test
+    void importDeals_Replayed_ReturnsStoredResponseWithoutImporting() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(validDeal("DEAL001")));
+        String bodyHash = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+        doReturn(new ImportIdempotencyService.ImportResponse(Map.of("successfulDeals", List.of("DEAL001")), true))
+                .when(importIdempotencyService).execute(eq("retry-1"), eq(bodyHash),
+                        eq("mode=json&partial=false&summary=false"), any());
 
+        mockMvc.perform(post("/api/deals/import")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.successfulDeals[0]").value("DEAL001"));
 
-}
\ No newline at end of file
+        verifyNoInteractions(dealService);
+    }
+
+    @Test
+    void importDeals_OnlyAFlagChanged_KeyedAsAnotherVariant() throws Exception {
+        when(dealService.bulkImport(any())).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of()));
+        String body = objectMapper.writeValueAsString(List.of(validDeal("DEAL001")));
+
+        mockMvc.perform(post("/api/deals/import")
+                        .param("mode", "bulk")
+                        .param("summary", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        // a stored mode=json&summary=false response for this body is not what this request asked for
+        verify(importIdempotencyService).execute(isNull(), any(), eq("mode=bulk&partial=false&summary=true"), any());
+    }
+
+    @Test
+    void importDealsCsv_ReportsRowErrorsAndKeysRetriesByFileHash() throws Exception {
+        DealCsvImportService.SpooledCsv spooled = new DealCsvImportService.SpooledCsv(Path.of("spooled.csv"), "f00d");
+        doReturn(spooled).when(dealCsvImportService).spool(any());
+        doReturn(new DealCsvImportService.CsvImport(new ImportResultDto(List.of("DEAL001"), List.of("#3")),
+                List.of(new CsvRowErrorDto(3, null, "Expected 5 fields but found 4"))))
+                .when(dealCsvImportService).importCsv(spooled);
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType("text/csv")
+                        .content("dealUniqueId,fromCurrencyIsoCode,toCurrencyIsoCode,dealTimestamp,dealAmountInOrderingCurrency\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulDeals[0]").value("DEAL001"))
+                .andExpect(jsonPath("$.failedDeals[0]").value("#3"))
+                .andExpect(jsonPath("$.rowErrors[0].line").value(3))
+                .andExpect(jsonPath("$.rowErrors[0].message").value("Expected 5 fields but found 4"));
+
+        verify(importIdempotencyService).execute(isNull(), eq("f00d"), eq("mode=csv&partial=false&summary=false"), any());
+    }
+
+    @Test
+    void importDealsCsv_InvalidHeader_ReturnsBadRequest() throws Exception {
+        doReturn(new DealCsvImportService.SpooledCsv(Path.of("spooled.csv"), "f00d"))
+                .when(dealCsvImportService).spool(any());
+        doThrow(new InvalidCsvException("CSV header is missing column 'dealTimestamp'"))
+                .when(dealCsvImportService).importCsv(any());
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType("text/csv")
+                        .content("dealUniqueId\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("Malformed CSV"));
+    }
+
+    @Test
+    void importDeals_NdjsonAccept_StreamsChunkAndSummaryLines() throws Exception {
+        doAnswer(invocation -> {
+            ImportChunkListener listener = invocation.getArgument(1);
+            listener.onChunk(List.of("DEAL001"), List.of(), List.of());
+            return null;
+        }).when(dealStreamImportService).importInChunks(any(), any());
+
+        MvcResult asyncResult = mockMvc.perform(post("/api/deals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDeal("DEAL001")))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"type\":\"chunk\""));
+        assertTrue(lines[1].contains("\"type\":\"summary\""));
+        verify(dealService, never()).saveAll(any());
+    }
+
+    @Test
+    void importDeals_InvalidDeals_ReturnsErrorsGroupedByIndex() throws Exception {
+        DealDto negativeAmount = validDeal("DEAL001");
+        negativeAmount.setDealAmountInOrderingCurrency(new BigDecimal("-2"));
+        DealDto blankId = validDeal("");
+
+        mockMvc.perform(post("/api/deals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(negativeAmount, blankId))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("Validation Error"))
+                .andExpect(jsonPath("$.errors['0'][0].property").value("dealAmountInOrderingCurrency"))
+                .andExpect(jsonPath("$.errors['0'][0].message").value("Deal Amount must be greater than zero"))
+                .andExpect(jsonPath("$.errors['1'][0].message").value("Deal Unique Id is required"));
+        verify(dealService, never()).saveAll(any());
+    }
+
+    @Test
+    void importDeals_Summary_ReturnsCountsAndSampledIds() throws Exception {
+        List<String> stored = IntStream.range(0, 15).mapToObj(i -> "DEAL" + i).toList();
+        doReturn(new ImportResultDto(stored, List.of(), List.of("DUP1"))).when(dealService).saveAll(any());
+        doReturn("Some deals imported, some were skipped due to duplication.")
+                .when(controllerHelper).getUserNotification(15, 0, 1);
+
+        mockMvc.perform(post("/api/deals/import")
+                        .param("summary", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDeal("DEAL0")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successCount").value(15))
+                .andExpect(jsonPath("$.duplicateCount").value(1))
+                .andExpect(jsonPath("$.successfulDealsSample.length()").value(10))
+                .andExpect(jsonPath("$.duplicateDealsSample[0]").value("DUP1"))
+                .andExpect(jsonPath("$.successfulDeals").doesNotExist());
+    }
+
+    @Test
+    void importDeals_Partial_SavesValidDealsAndReportsInvalidOnes() throws Exception {
+        DealDto negativeAmount = validDeal("DEAL002");
+        negativeAmount.setDealAmountInOrderingCurrency(new BigDecimal("-2"));
+        doReturn(new ImportResultDto(List.of("DEAL001"), List.of())).when(dealService).saveAll(any());
+
+        mockMvc.perform(post("/api/deals/import")
+                        .param("partial", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validDeal("DEAL001"), negativeAmount))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulDeals[0]").value("DEAL001"))
+                .andExpect(jsonPath("$.failedDeals[0]").value("DEAL002"))
+                .andExpect(jsonPath("$.validationErrors['1'][0].message").value("Deal Amount must be greater than zero"));
+        verify(dealService).saveAll(argThat(deals -> deals.size() == 1
+                && deals.get(0).getDealUniqueId().equals("DEAL001")));
+    }
+
+    private DealDto validDeal(String id) {
+        return DealDto.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp("2025-08-04T01:00:00Z")
+                .dealAmountInOrderingCurrency(new BigDecimal("1000.00"))
+                .build();
+    }
+
+    @Test
+    void searchDeals_BindsFiltersAndReturnsPage() throws Exception {
+        DealDto deal = DealDto.builder()
+                .dealUniqueId("DEAL001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp("2025-08-04T14:30:00Z")
+                .dealAmountInOrderingCurrency(new BigDecimal("1000.50"))
+                .build();
+        DealSearchCriteria expected = DealSearchCriteria.builder()
+                .from(Instant.parse("2025-08-01T00:00:00Z"))
+                .fromCurrency("USD")
+                .toCurrency("EUR")
+                .minAmount(new BigDecimal("100"))
+                .build();
+        when(dealQueryService.search(eq(expected), eq(50), isNull()))
+                .thenReturn(new DealPageDto(List.of(deal), "next"));
+
+        mockMvc.perform(get("/api/deals")
+                        .param("from", "2025-08-01T00:00:00Z")
+                        .param("fromCurrency", "USD")
+                        .param("toCurrency", "EUR")
+                        .param("minAmount", "100")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deals[0].dealUniqueId").value("DEAL001"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void searchDeals_UnparseableParameter_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/deals").param("from", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("Invalid Query"));
+
+        verifyNoInteractions(dealQueryService);
+    }
+
+    @Test
+    void getVolumeRollups_MissingGranularity_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/deals/rollups")
+                        .param("from", "2025-08-04T00:00:00Z")
+                        .param("to", "2025-08-05T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Missing required parameter 'granularity'"));
+
+        verifyNoInteractions(dealVolumeRollupService);
+    }
+}
@@ -0,0 +1,116 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealCoreValidationTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private DealIdFilter dealIdFilter;
+
+    @Spy
+    private ImportMetrics importMetrics = new ImportMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private DealCoreValidation coreValidation;
+
+    @BeforeEach
+    void setUp() {
+        // filter not loaded yet: every id may exist
+        lenient().when(dealIdFilter.mightExist(any())).thenReturn(true);
+    }
+
+    @Test
+    void findExistingDealIds_ReturnsIdsFoundInRepository() {
+        when(dealRepository.findExistingDealUniqueIds(anyCollection())).thenReturn(List.of("DEAL002"));
+
+        Set<String> existing = coreValidation.findExistingDealIds(List.of("DEAL001", "DEAL002", "DEAL003"));
+
+        assertEquals(Set.of("DEAL002"), existing);
+        verify(dealRepository, times(1)).findExistingDealUniqueIds(anyCollection());
+        verify(dealRepository, never()).existsByDealUniqueId(any());
+    }
+
+    @Test
+    void findExistingDealIds_LargeInput_QueriesInChunks() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < DealCoreValidation.LOOKUP_CHUNK_SIZE * 2 + 1; i++) {
+            ids.add("DEAL" + i);
+        }
+        when(dealRepository.findExistingDealUniqueIds(anyCollection())).thenReturn(List.of());
+
+        Set<String> existing = coreValidation.findExistingDealIds(ids);
+
+        assertTrue(existing.isEmpty());
+        verify(dealRepository, times(3)).findExistingDealUniqueIds(anyCollection());
+    }
+
+    @Test
+    void findExistingDealIds_IdsFilterKnowsAreNew_NotQueried() {
+        when(dealIdFilter.mightExist("DEAL001")).thenReturn(false);
+        when(dealRepository.findExistingDealUniqueIds(List.of("DEAL002"))).thenReturn(List.of("DEAL002"));
+
+        Set<String> existing = coreValidation.findExistingDealIds(List.of("DEAL001", "DEAL002"));
+
+        assertEquals(Set.of("DEAL002"), existing);
+    }
+
+    @Test
+    void findExistingDealIds_AllIdsNew_NoQuery() {
+        when(dealIdFilter.mightExist(any())).thenReturn(false);
+
+        Set<String> existing = coreValidation.findExistingDealIds(List.of("DEAL001", "DEAL002"));
+
+        assertTrue(existing.isEmpty());
+        verify(dealRepository, never()).findExistingDealUniqueIds(anyCollection());
+    }
+
+    @Test
+    void isDealUnique_FilterKnowsIdIsNew_SkipsDatabase() {
+        when(dealIdFilter.mightExist("DEAL001")).thenReturn(false);
+
+        assertTrue(coreValidation.isDealUnique("DEAL001"));
+        verify(dealRepository, never()).existsByDealUniqueId(any());
+    }
+
+    @Test
+    void findExistingDealIds_BlankIds_TreatedAsExistingWithoutQuery() {
+        Set<String> existing = coreValidation.findExistingDealIds(Arrays.asList("", null));
+
+        assertEquals(2, existing.size());
+        verify(dealRepository, never()).findExistingDealUniqueIds(anyCollection());
+    }
+
+    @Test
+    void findExistingDealIds_DatabaseError_TreatsChunkAsExisting() {
+        when(dealRepository.findExistingDealUniqueIds(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        Set<String> existing = coreValidation.findExistingDealIds(List.of("DEAL001", "DEAL002"));
+
+        assertEquals(Set.of("DEAL001", "DEAL002"), existing);
+    }
+}
@@ -0,0 +1,149 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.bloomberg.fx_deals.Exceptions.DealValidationException;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealDtoValidatorTest {
+
+    private final DealDtoValidator dealDtoValidator = new DealDtoValidator();
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void validate_ValidDeal_NoErrorsAndEpochSecondSet() {
+        DealDto deal = deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", "1000.50");
+
+        assertTrue(dealDtoValidator.validate(deal).isEmpty());
+        assertEquals(Instant.parse("2025-08-04T02:36:07Z").getEpochSecond(), deal.getDealEpochSecond());
+    }
+
+    @Test
+    void validate_SameMessagesAsBeanValidation() {
+        List<DealDto> cases = new ArrayList<>();
+        for (String id : Arrays.asList(null, "", "   ", "DEAL001", "D".repeat(256), " ".repeat(256))) {
+            cases.add(deal(id, "USD", "EUR", "2025-08-04T02:36:07Z", "1000.50"));
+        }
+        for (String code : Arrays.asList(null, "", "usd", "US", "USDD", "U5D", "USD\n")) {
+            cases.add(deal("DEAL001", code, "EUR", "2025-08-04T02:36:07Z", "1000.50"));
+            cases.add(deal("DEAL001", "USD", code, "2025-08-04T02:36:07Z", "1000.50"));
+        }
+        for (String ts : Arrays.asList(null, "", "2025-08-04", "2025-08-04T02:36:07", "2025-08-04T02:36:07.5Z",
+                "2025-08-04 02:36:07Z", "2025-13-45T99:99:99Z", "x025-08-04T02:36:07Z", "2025-08-04T02:36:07Z\n")) {
+            cases.add(deal("DEAL001", "USD", "EUR", ts, "1000.50"));
+        }
+        for (String amount : Arrays.asList(null, "0", "0.00", "0.001", "0.01", "-2", "1000.505", "1000.500",
+                "999999999999999.99", "1000000000000000", "1E+3", "1E+16", "-1E+16")) {
+            cases.add(deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", amount));
+        }
+        cases.add(deal(null, null, null, null, null));
+
+        for (DealDto deal : cases) {
+            Set<String> expected = beanValidator.validate(deal).stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.toSet());
+            Set<String> actual = dealDtoValidator.validate(deal).stream()
+                    .map(e -> e.get("property") + ": " + e.get("message"))
+                    .collect(Collectors.toCollection(HashSet::new));
+            assertEquals(expected, actual, "for " + deal);
+        }
+    }
+
+    @Test
+    void validate_WellFormedButImpossibleDate_LeavesEpochSecondUnset() {
+        DealDto deal = deal("DEAL001", "USD", "EUR", "2025-02-29T00:00:00Z", "1000.50");
+
+        assertTrue(dealDtoValidator.validate(deal).isEmpty());
+        assertNull(deal.getDealEpochSecond());
+    }
+
+    @Test
+    void toEpochSecond_MatchesInstantParse() {
+        for (String ts : List.of("1970-01-01T00:00:00Z", "2000-02-29T23:59:59Z", "1900-03-01T12:00:00Z",
+                "0000-01-01T00:00:00Z", "9999-12-31T23:59:59Z", "2024-12-31T00:00:01Z", "1969-12-31T23:59:59Z")) {
+            assertEquals(Instant.parse(ts).getEpochSecond(), DealDtoValidator.toEpochSecond(ts), ts);
+        }
+    }
+
+    @Test
+    void validateAll_GroupsErrorsByIndex() {
+        List<DealDto> deals = List.of(
+                deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", "1000.50"),
+                deal("", "USD", "EUR", "2025-08-04T02:36:07Z", "-2"));
+
+        DealValidationException ex = assertThrows(DealValidationException.class, () -> dealDtoValidator.validateAll(deals));
+
+        Map<String, List<Map<String, String>>> errors = ex.getErrorsGroupedByIndex();
+        assertEquals(Set.of("1"), errors.keySet());
+        assertEquals(2, errors.get("1").size());
+    }
+
+    @Test
+    void validateAll_AllValid_DoesNotThrow() {
+        assertDoesNotThrow(() -> dealDtoValidator.validateAll(List.of(
+                deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", "1000.50"))));
+    }
+
+    @Test
+    void validateAll_CapsDetailsButCountsEveryInvalidDeal() {
+        List<DealDto> deals = List.of(
+                deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", "-1"),
+                deal("DEAL002", "USD", "EUR", "2025-08-04T02:36:07Z", "-1"),
+                deal("DEAL003", "USD", "EUR", "2025-08-04T02:36:07Z", "-1"));
+
+        DealValidationException ex = assertThrows(DealValidationException.class, () -> dealDtoValidator.validateAll(deals, 2));
+
+        assertEquals(Set.of("0", "1"), ex.getErrorsGroupedByIndex().keySet());
+        assertEquals(3, ex.getInvalidDeals());
+    }
+
+    @Test
+    void partition_SplitsValidAndInvalidDeals() {
+        DealDto valid = deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", "1000.50");
+        DealDto otherValid = deal("DEAL004", "USD", "EUR", "2025-08-04T02:36:07Z", "5");
+        List<DealDto> deals = Arrays.asList(valid,
+                deal("DEAL002", "usd", "EUR", "2025-08-04T02:36:07Z", "10"),
+                deal(" ", "USD", "EUR", "2025-08-04T02:36:07Z", "10"),
+                null,
+                otherValid);
+
+        DealDtoValidator.ValidatedDeals validated = dealDtoValidator.partition(deals, 2);
+
+        assertEquals(List.of(valid, otherValid), validated.validDeals());
+        assertEquals(List.of("DEAL002", "#2", "#3"), validated.invalidDeals());
+        assertEquals(List.of("1", "2"), List.copyOf(validated.errorsGroupedByIndex().keySet()));
+    }
+
+    @Test
+    void partition_AllValid_ReturnsInputList() {
+        List<DealDto> deals = List.of(deal("DEAL001", "USD", "EUR", "2025-08-04T02:36:07Z", "1000.50"));
+
+        DealDtoValidator.ValidatedDeals validated = dealDtoValidator.partition(deals, 10);
+
+        assertSame(deals, validated.validDeals());
+        assertTrue(validated.invalidDeals().isEmpty());
+    }
+
+    private static DealDto deal(String id, String from, String to, String timestamp, String amount) {
+        return DealDto.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(timestamp)
+                .dealAmountInOrderingCurrency(amount != null ? new BigDecimal(amount) : null)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealIdBloomFilterTest {
+
+    @Test
+    void mightContain_AddedIds_AlwaysTrue() {
+        DealIdBloomFilter filter = new DealIdBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("DEAL" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("DEAL" + i));
+        }
+    }
+
+    @Test
+    void mightContain_UnknownIds_FalsePositiveRateNearConfigured() {
+        DealIdBloomFilter filter = new DealIdBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("DEAL" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("OTHER" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void approximateElementCount_CloseToDistinctInsertions() {
+        DealIdBloomFilter filter = new DealIdBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("DEAL" + i);
+            filter.put("DEAL" + i);
+        }
+
+        long setBits = filter.setBits();
+        long estimate = filter.approximateElementCount(setBits);
+        assertTrue(Math.abs(estimate - 5_000) < 250, "estimate: " + estimate);
+        assertTrue(filter.currentFalsePositiveProbability(setBits) < 0.01);
+    }
+
+    @Test
+    void constructor_InvalidSizing_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new DealIdBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new DealIdBloomFilter(100, 1.0));
+    }
+
+    @Test
+    void memoryBytes_MatchesFilterAndInvertsMaxInsertions() {
+        DealIdBloomFilter filter = new DealIdBloomFilter(10_000, 0.01);
+
+        assertEquals(filter.bitSize() / 8, DealIdBloomFilter.memoryBytes(10_000, 0.01));
+        // 200M ids at 1% is about 230 MB
+        long bytes = DealIdBloomFilter.memoryBytes(200_000_000, 0.01);
+        assertTrue(bytes > 230_000_000 && bytes < 245_000_000, "bytes: " + bytes);
+        long fits = DealIdBloomFilter.maxInsertions(bytes, 0.01);
+        assertTrue(DealIdBloomFilter.memoryBytes(fits, 0.01) <= bytes);
+        assertTrue(fits >= 199_999_000, "fits: " + fits);
+    }
+}
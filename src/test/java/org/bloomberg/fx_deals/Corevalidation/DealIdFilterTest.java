@@ -0,0 +1,75 @@
+package org.bloomberg.fx_deals.Corevalidation;
+
+import org.bloomberg.fx_deals.Config.DealIdFilterProperties;
+import org.bloomberg.fx_deals.Model.DTO.DealIdFilterStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DealIdFilterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final DealIdFilterProperties properties = new DealIdFilterProperties();
+
+    private DealIdFilter dealIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setExpectedInsertions(10_000);
+        properties.setMaxMemory(DataSize.ofMegabytes(1));
+        dealIdFilter = new DealIdFilter(properties, jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void rebuildAsync_OverMaxMemory_RejectedWithoutAllocating() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> dealIdFilter.rebuildAsync(2_000_000_000L, 0.000001));
+
+        assertTrue(e.getMessage().contains("max-memory"));
+        assertFalse(dealIdFilter.stats().isRebuilding());
+    }
+
+    @Test
+    void warmUp_TableOutgrewConfiguredSize_SizedForStoredIds() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(40_000L);
+
+        dealIdFilter.warmUp();
+
+        assertEquals(50_000, awaitReady().getExpectedInsertions());
+    }
+
+    @Test
+    void warmUp_StoredIdsBeyondMaxMemory_SizedWithinIt() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(100_000_000L);
+
+        dealIdFilter.warmUp();
+
+        DealIdFilterStatsDto stats = awaitReady();
+        assertTrue(stats.getMemoryBytes() <= DataSize.ofMegabytes(1).toBytes());
+        assertEquals(DealIdBloomFilter.maxInsertions(DataSize.ofMegabytes(1).toBytes(), 0.01), stats.getExpectedInsertions());
+    }
+
+    private DealIdFilterStatsDto awaitReady() throws InterruptedException {
+        for (int i = 0; i < 200 && !dealIdFilter.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(dealIdFilter.isReady());
+        return dealIdFilter.stats();
+    }
+}
@@ -1,8 +1,12 @@
 package org.bloomberg.fx_deals.Helpers;
 
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ControllerHelperTest {
@@ -112,4 +116,28 @@ class ControllerHelperTest {
         // Then
         assertEquals("Import completed with mixed results.", result);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void importMessage_NotificationFollowedByCounts() {
+        // When
+        String result = controllerHelper.importMessage(5, 0, 0);
+
+        // Then
+        assertEquals("All deals imported successfully. | Success: 5 | Failed: 0 | Duplicates: 0", result);
+    }
+
+    @Test
+    void buildImportBody_MessageWithCountsAndDealIds() {
+        // Given
+        ImportResultDto result = new ImportResultDto(List.of("DEAL001", "DEAL002"), List.of("DEAL003"), List.of("DEAL004"));
+
+        // When
+        Map<String, Object> body = controllerHelper.buildImportBody(result);
+
+        // Then
+        assertEquals("Import completed with mixed results. | Success: 2 | Failed: 1 | Duplicates: 1", body.get("message"));
+        assertEquals(List.of("DEAL001", "DEAL002"), body.get("successfulDeals"));
+        assertEquals(List.of("DEAL003"), body.get("failedDeals"));
+        assertEquals(List.of("DEAL004"), body.get("duplicateDeals"));
+    }
+}
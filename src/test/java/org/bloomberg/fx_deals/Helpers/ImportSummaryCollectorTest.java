@@ -0,0 +1,30 @@
+package org.bloomberg.fx_deals.Helpers;
+
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ImportSummaryCollectorTest {
+
+    @Test
+    void onChunk_CountsEverythingButKeepsOnlyTheFirstIds() {
+        ImportSummaryCollector collector = new ImportSummaryCollector(new ControllerHelper(), 3);
+
+        collector.onChunk(List.of("DEAL1", "DEAL2"), List.of("BAD1"), List.of());
+        collector.onChunk(List.of("DEAL3", "DEAL4"), List.of(), List.of("DUP1"));
+        collector.add(new ImportResultDto(List.of("DEAL5"), List.of("BAD2", "BAD3", "BAD4"), List.of()));
+
+        Map<String, Object> body = collector.toBody();
+        assertEquals(5, body.get("successCount"));
+        assertEquals(4, body.get("failCount"));
+        assertEquals(1, body.get("duplicateCount"));
+        assertEquals(List.of("DEAL1", "DEAL2", "DEAL3"), body.get("successfulDealsSample"));
+        assertEquals(List.of("BAD1", "BAD2", "BAD3"), body.get("failedDealsSample"));
+        assertEquals(List.of("DUP1"), body.get("duplicateDealsSample"));
+        assertEquals("Import completed with mixed results. | Success: 5 | Failed: 4 | Duplicates: 1", body.get("message"));
+    }
+}
@@ -0,0 +1,66 @@
+package org.bloomberg.fx_deals.Helpers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonImportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ByteArrayOutputStream out;
+    private NdjsonImportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream();
+        writer = new NdjsonImportWriter(out, objectMapper, new ControllerHelper());
+    }
+
+    @Test
+    void onChunk_WritesOneLinePerChunk() throws Exception {
+        writer.onChunk(List.of("DEAL001"), List.of(), List.of("DEAL002"));
+        writer.onChunk(List.of(), List.of("DEAL003"), List.of());
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("chunk", first.get("type").asText());
+        assertEquals(1, first.get("chunk").asInt());
+        assertEquals("DEAL001", first.get("successfulDeals").get(0).asText());
+        assertEquals("DEAL002", first.get("duplicateDeals").get(0).asText());
+        assertEquals("DEAL003", objectMapper.readTree(lines[1]).get("failedDeals").get(0).asText());
+    }
+
+    @Test
+    void writeSummary_ReportsTotalsAcrossChunks() throws Exception {
+        writer.onChunk(List.of("DEAL001", "DEAL002"), List.of(), List.of());
+        writer.onChunk(List.of("DEAL003"), List.of(), List.of("DEAL004"));
+        writer.writeSummary();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        JsonNode summary = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals("summary", summary.get("type").asText());
+        assertEquals(2, summary.get("chunks").asInt());
+        assertEquals(3, summary.get("successCount").asInt());
+        assertEquals(0, summary.get("failCount").asInt());
+        assertEquals(1, summary.get("duplicateCount").asInt());
+        assertEquals("Some deals imported, some were skipped due to duplication. | Success: 3 | Failed: 0 | Duplicates: 1",
+                summary.get("message").asText());
+    }
+
+    @Test
+    void writeSummary_NoChunks_ReportsZeroCounts() throws Exception {
+        writer.writeSummary();
+
+        JsonNode summary = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertEquals(0, summary.get("chunks").asInt());
+        assertEquals(0, summary.get("successCount").asInt());
+    }
+}
@@ -163,4 +163,20 @@ class DealMapperTest {
         assertNotNull(dealDto);
         assertEquals(farFuture.toString(), dealDto.getDealTimestamp());
     }
+
+    @Test
+    void toEntity_ValidatedDto_UsesPrecomputedEpochSecond() {
+        DealDto dealDto = DealDto.builder()
+                .dealUniqueId("DEAL001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp("2022-01-01T00:00:00Z")
+                .dealAmountInOrderingCurrency(new BigDecimal("1000.50"))
+                .dealEpochSecond(Instant.parse("2022-01-01T00:00:00Z").getEpochSecond())
+                .build();
+
+        Deal deal = dealMapper.toEntity(dealDto);
+
+        assertEquals(Instant.parse("2022-01-01T00:00:00Z"), deal.getDealTimestamp());
+    }
 }
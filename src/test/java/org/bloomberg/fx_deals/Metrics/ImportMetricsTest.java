@@ -0,0 +1,81 @@
+package org.bloomberg.fx_deals.Metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ImportMetrics importMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        importMetrics = new ImportMetrics(registry);
+    }
+
+    @Test
+    void recordOutcome_IncrementsCountersByOutcome() {
+        importMetrics.recordOutcome(3, 1, 2);
+        importMetrics.recordOutcome(1, 0, 0);
+
+        assertEquals(4, registry.get("fxdeals.import.deals").tag("outcome", "success").counter().count());
+        assertEquals(1, registry.get("fxdeals.import.deals").tag("outcome", "failed").counter().count());
+        assertEquals(2, registry.get("fxdeals.import.deals").tag("outcome", "duplicate").counter().count());
+    }
+
+    @Test
+    void recordStage_RecordsIntoStageTimer() {
+        importMetrics.recordStage(ImportMetrics.Stage.DUPLICATE_CHECK, TimeUnit.MILLISECONDS.toNanos(5));
+
+        var timer = registry.get("fxdeals.import.stage").tag("stage", "duplicate_check").timer();
+        assertEquals(1, timer.count());
+        assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(0, registry.get("fxdeals.import.stage").tag("stage", "persist").timer().count());
+    }
+
+    @Test
+    void importScope_RecordsRoundTripsAndSizePerImport() {
+        try (ImportMetrics.ImportScope ignored = importMetrics.startImport("json")) {
+            importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.LOOKUP);
+            importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.INSERT);
+            importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.INSERT);
+            importMetrics.recordOutcome(8, 1, 1);
+        }
+
+        DistributionSummary roundTrips = registry.get("fxdeals.import.db.round.trips.per.import").tag("mode", "json").summary();
+        assertEquals(1, roundTrips.count());
+        assertEquals(3, roundTrips.totalAmount());
+        assertEquals(10, registry.get("fxdeals.import.request.size").tag("mode", "json").summary().totalAmount());
+        assertEquals(1, registry.get("fxdeals.import.duration").tag("mode", "json").timer().count());
+        assertEquals(2, registry.get("fxdeals.import.db.round.trips").tag("operation", "insert").counter().count());
+    }
+
+    @Test
+    void roundTripsOutsideAScope_OnlyCountGlobally() {
+        importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.LOOKUP);
+
+        try (ImportMetrics.ImportScope ignored = importMetrics.startImport("bulk")) {
+            importMetrics.recordRoundTrip(ImportMetrics.RoundTrip.MERGE);
+        }
+
+        assertEquals(1, registry.get("fxdeals.import.db.round.trips.per.import").tag("mode", "bulk").summary().totalAmount());
+        assertEquals(1, registry.get("fxdeals.import.db.round.trips").tag("operation", "lookup").counter().count());
+    }
+
+    @Test
+    void recordWriteBatch_FeedsBatchSizeHistogram() {
+        importMetrics.recordWriteBatch(500);
+        importMetrics.recordWriteBatch(120);
+
+        DistributionSummary batchSize = registry.get("fxdeals.import.write.batch.size").summary();
+        assertEquals(2, batchSize.count());
+        assertEquals(500, batchSize.max());
+    }
+}
@@ -0,0 +1,92 @@
+package org.bloomberg.fx_deals.Model.Converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyCodesTest {
+
+    private final CurrencyCodeConverter converter = new CurrencyCodeConverter();
+
+    @Test
+    void toCode_IsoCurrency_UsesIsoNumericCode() {
+        assertEquals(840, CurrencyCodes.toCode("USD"));
+        assertEquals(978, CurrencyCodes.toCode("EUR"));
+        assertEquals(504, CurrencyCodes.toCode("MAD"));
+    }
+
+    @Test
+    void toCode_NonIsoLetters_UsesFallbackRange() {
+        short code = CurrencyCodes.toCode("ABC");
+
+        assertTrue(code >= 1000 && code <= CurrencyCodes.MAX_CODE);
+        assertEquals("ABC", CurrencyCodes.toAlpha(code));
+        assertEquals(1000, CurrencyCodes.toCode("AAA"));
+        assertEquals(CurrencyCodes.MAX_CODE, CurrencyCodes.toCode("ZZZ"));
+    }
+
+    @Test
+    void everyThreeLetterCode_RoundTripsToADistinctCode() {
+        Set<Short> codes = new HashSet<>();
+        for (char a = 'A'; a <= 'Z'; a++) {
+            for (char b = 'A'; b <= 'Z'; b++) {
+                for (char c = 'A'; c <= 'Z'; c++) {
+                    String alpha = "" + a + b + c;
+                    short code = CurrencyCodes.toCode(alpha);
+                    assertTrue(code > 0, alpha);
+                    assertTrue(codes.add(code), "code reused for " + alpha);
+                    assertEquals(alpha, CurrencyCodes.toAlpha(code));
+                }
+            }
+        }
+    }
+
+    @Test
+    void toAlpha_ReturnsSharedInstance() {
+        String fromJson = new String("USD");
+
+        assertSame(CurrencyCodes.toAlpha(840), CurrencyCodes.canonical(fromJson));
+        assertSame(CurrencyCodes.toAlpha(CurrencyCodes.toCode("QQQ")), CurrencyCodes.toAlpha(CurrencyCodes.toCode("QQQ")));
+    }
+
+    @Test
+    void canonical_NotACurrencyCode_ReturnsValueUnchanged() {
+        assertNull(CurrencyCodes.canonical(null));
+        assertEquals("usd", CurrencyCodes.canonical("usd"));
+        assertEquals("USDD", CurrencyCodes.canonical("USDD"));
+    }
+
+    @Test
+    void invalidValues_AreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CurrencyCodes.toCode("usd"));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyCodes.toCode("US"));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyCodes.toAlpha(0));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyCodes.toAlpha(1)); // no ISO currency has 1
+        assertThrows(IllegalArgumentException.class, () -> CurrencyCodes.toAlpha(CurrencyCodes.MAX_CODE + 1));
+    }
+
+    @Test
+    void pairId_FitsAnIntegerAndKeepsBothCodes() {
+        short usd = CurrencyCodes.toCode("USD");
+        short zzz = CurrencyCodes.toCode("ZZZ");
+
+        int pair = CurrencyCodes.pairId(zzz, usd);
+
+        assertTrue(pair > 0);
+        assertEquals(zzz, pair >>> 15);
+        assertEquals(usd, pair & 0x7FFF);
+        assertEquals(zzz, CurrencyCodes.pairFrom(pair));
+        assertEquals(usd, CurrencyCodes.pairTo(pair));
+    }
+
+    @Test
+    void converter_MapsBothWaysAndKeepsNulls() {
+        assertEquals((short) 826, converter.convertToDatabaseColumn("GBP"));
+        assertEquals("GBP", converter.convertToEntityAttribute((short) 826));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
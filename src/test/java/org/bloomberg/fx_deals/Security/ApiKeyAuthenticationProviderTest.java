@@ -0,0 +1,61 @@
+package org.bloomberg.fx_deals.Security;
+
+import org.bloomberg.fx_deals.Config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyAuthenticationProviderTest {
+
+    // printf %s "reporting-key" | sha256sum
+    private static final String REPORTING_SHA256 = "540a37a56f64c28b55bf6ca3b97ce3f7df5e8a78cd117b8f44b8f52d36460eb9";
+
+    @Test
+    void authenticate_KnownKey_AuthenticatedAsItsName() {
+        ApiKeyAuthenticationProvider provider = new ApiKeyAuthenticationProvider(List.of(apiKey("reporting", REPORTING_SHA256)));
+
+        Authentication result = provider.authenticate(ApiKeyAuthenticationToken.unauthenticated("reporting-key"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals("reporting", result.getName());
+        assertEquals(ApiKeyAuthenticationProvider.AUTHORITIES, List.copyOf(result.getAuthorities()));
+    }
+
+    @Test
+    void authenticate_UnknownKey_ThrowsBadCredentials() {
+        ApiKeyAuthenticationProvider provider = new ApiKeyAuthenticationProvider(List.of(apiKey("reporting", REPORTING_SHA256)));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(ApiKeyAuthenticationToken.unauthenticated("reporting-kex")));
+    }
+
+    @Test
+    void constructor_MalformedOrDuplicateDigest_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ApiKeyAuthenticationProvider(List.of(apiKey("short", "abc123"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ApiKeyAuthenticationProvider(List.of(apiKey("not-hex", "z".repeat(64)))));
+        assertThrows(IllegalArgumentException.class, () -> new ApiKeyAuthenticationProvider(List.of(
+                apiKey("first", REPORTING_SHA256), apiKey("second", REPORTING_SHA256.toUpperCase()))));
+    }
+
+    @Test
+    void supports_OnlyApiKeyTokens() {
+        ApiKeyAuthenticationProvider provider = new ApiKeyAuthenticationProvider(List.of());
+
+        assertTrue(provider.supports(ApiKeyAuthenticationToken.class));
+        assertFalse(provider.supports(UsernamePasswordAuthenticationToken.class));
+    }
+
+    private static AuthProperties.ApiKey apiKey(String name, String sha256) {
+        AuthProperties.ApiKey apiKey = new AuthProperties.ApiKey();
+        apiKey.setName(name);
+        apiKey.setSha256(sha256);
+        return apiKey;
+    }
+}
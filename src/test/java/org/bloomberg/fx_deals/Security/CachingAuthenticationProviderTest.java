@@ -0,0 +1,107 @@
+package org.bloomberg.fx_deals.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    private AuthenticationProvider delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuthenticationProvider.class);
+        when(delegate.supports(any())).thenReturn(true);
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"secret".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    request.getName(), request.getCredentials(), List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+            result.setDetails(request.getDetails());
+            return result;
+        });
+    }
+
+    @Test
+    void authenticate_SameCredentialsWithinTtl_DelegateCalledOnce() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(1), 10);
+
+        Authentication first = provider.authenticate(basic("alice", "secret"));
+        Authentication second = provider.authenticate(basic("alice", "secret"));
+
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getPrincipal(), second.getPrincipal());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_CacheHit_NewTokenWithDetailsOfThisRequest() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(1), 10);
+        UsernamePasswordAuthenticationToken firstRequest = basic("alice", "secret");
+        firstRequest.setDetails("10.0.0.1");
+        UsernamePasswordAuthenticationToken secondRequest = basic("alice", "secret");
+        secondRequest.setDetails("10.0.0.2");
+
+        Authentication first = provider.authenticate(firstRequest);
+        Authentication second = provider.authenticate(secondRequest);
+
+        assertNotSame(first, second);
+        assertEquals("10.0.0.2", second.getDetails());
+        assertEquals("10.0.0.1", first.getDetails());
+        // ProviderManager erases credentials on the returned token; that must not reach the next hit
+        ((UsernamePasswordAuthenticationToken) second).eraseCredentials();
+        assertEquals("secret", provider.authenticate(basic("alice", "secret")).getCredentials());
+    }
+
+    @Test
+    void authenticate_WrongPassword_NotCachedAndNotServedFromCache() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(1), 10);
+        provider.authenticate(basic("alice", "secret"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("alice", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("alice", "wrong")));
+
+        assertEquals(1, provider.size());
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_ZeroTtl_AlwaysDelegates() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ZERO, 10);
+
+        provider.authenticate(basic("alice", "secret"));
+        provider.authenticate(basic("alice", "secret"));
+
+        assertEquals(0, provider.size());
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_CacheFull_StaysWithinMaxEntries() {
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(1), 3);
+
+        for (int i = 0; i < 10; i++) {
+            provider.authenticate(basic("user" + i, "secret"));
+        }
+
+        assertTrue(provider.size() <= 3);
+    }
+
+    private static UsernamePasswordAuthenticationToken basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,94 @@
+package org.bloomberg.fx_deals.Security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.bloomberg.fx_deals.Config.AdmissionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportAdmissionFilterTest {
+
+    @Mock
+    private ImportAdmission importAdmission;
+
+    private final AdmissionProperties admissionProperties = new AdmissionProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ImportAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ImportAdmissionFilter(importAdmission, admissionProperties, objectMapper);
+    }
+
+    @Test
+    void admittedImport_RunsThenReleasesItsSlot() throws Exception {
+        when(importAdmission.tryAdmit("10.0.0.1")).thenReturn(Optional.empty());
+        MockHttpServletRequest request = importRequest();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        assertEquals("10.0.0.1", request.getAttribute(ImportAdmission.CLIENT_ATTRIBUTE));
+        verify(importAdmission).release();
+    }
+
+    @Test
+    void rejectedImport_Answers429WithRetryAfterWithoutRunning() throws Exception {
+        when(importAdmission.tryAdmit("10.0.0.1"))
+                .thenReturn(Optional.of(new ImportAdmission.Rejection("Request rate limit exceeded for this client", 3)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(importRequest(), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        Map<?, ?> body = objectMapper.readValue(response.getContentAsByteArray(), Map.class);
+        assertEquals("Too Many Requests", body.get("type"));
+        assertEquals("Request rate limit exceeded for this client", body.get("message"));
+        verify(importAdmission, never()).release();
+    }
+
+    @Test
+    void clientHeader_FirstForwardedAddressIsTheClient() throws Exception {
+        admissionProperties.setClientHeader("X-Forwarded-For");
+        when(importAdmission.tryAdmit("203.0.113.7")).thenReturn(Optional.empty());
+        MockHttpServletRequest request = importRequest();
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(importAdmission).tryAdmit("203.0.113.7");
+    }
+
+    @Test
+    void otherRequestsAndDisabledAdmission_PassThrough() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/deals/import/job-1"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        admissionProperties.setEnabled(false);
+        filter.doFilter(importRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(importAdmission);
+    }
+
+    private static MockHttpServletRequest importRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/deals/import");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
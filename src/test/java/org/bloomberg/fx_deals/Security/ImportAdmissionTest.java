@@ -0,0 +1,117 @@
+package org.bloomberg.fx_deals.Security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Config.AdmissionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ImportAdmissionTest {
+
+    private AdmissionProperties admissionProperties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        admissionProperties = new AdmissionProperties();
+        admissionProperties.setMaxConcurrentImports(2);
+        admissionProperties.getRequests().setPerSecond(1);
+        admissionProperties.getRequests().setBurst(3);
+        admissionProperties.getDeals().setPerSecond(100);
+        admissionProperties.getDeals().setBurst(100);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void tryAdmit_RequestBucketEmpty_RejectedUntilRefilled() {
+        ImportAdmission admission = newAdmission();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(admission.tryAdmit("10.0.0.1").isEmpty());
+            admission.release();
+        }
+
+        Optional<ImportAdmission.Rejection> rejection = admission.tryAdmit("10.0.0.1");
+
+        assertTrue(rejection.isPresent());
+        assertEquals(1, rejection.get().retryAfterSeconds());
+        // buckets are per client
+        assertTrue(admission.tryAdmit("10.0.0.2").isEmpty());
+        assertEquals(1, registry.get("fxdeals.admission.rejected").tag("reason", "requests").counter().count());
+    }
+
+    @Test
+    void chargeDeals_OverdrawnBucket_RejectsUntilPaidBack() {
+        ImportAdmission admission = newAdmission();
+        assertTrue(admission.tryAdmit("10.0.0.1").isEmpty());
+        admission.release();
+
+        // a large import is let in whole, then the client waits for the bucket to be positive again
+        admission.chargeDeals("10.0.0.1", 1_000);
+        Optional<ImportAdmission.Rejection> rejection = admission.tryAdmit("10.0.0.1");
+
+        assertTrue(rejection.isPresent());
+        assertEquals(10, rejection.get().retryAfterSeconds());
+        assertTrue(rejection.get().message().contains("Deal rate limit"));
+    }
+
+    @Test
+    void tryAdmit_AllSlotsTaken_RejectedWithoutSpendingRequestToken() {
+        admissionProperties.getRequests().setBurst(1);
+        ImportAdmission admission = newAdmission();
+        assertTrue(admission.tryAdmit("10.0.0.1").isEmpty());
+        assertTrue(admission.tryAdmit("10.0.0.2").isEmpty());
+
+        Optional<ImportAdmission.Rejection> rejection = admission.tryAdmit("10.0.0.3");
+        assertTrue(rejection.isPresent());
+        assertEquals(1, rejection.get().retryAfterSeconds());
+        assertEquals(2.0, registry.get("fxdeals.admission.running").gauge().value());
+
+        admission.release();
+        // 10.0.0.3 got its request token back, so it is let in as soon as a slot frees up
+        assertTrue(admission.tryAdmit("10.0.0.3").isEmpty());
+    }
+
+    @Test
+    void disabledLimits_OnlyConcurrencyApplies() {
+        admissionProperties.getRequests().setPerSecond(0);
+        admissionProperties.getDeals().setPerSecond(0);
+        admissionProperties.setMaxConcurrentImports(1);
+        ImportAdmission admission = newAdmission();
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(admission.tryAdmit("10.0.0.1").isEmpty());
+            admission.chargeDeals("10.0.0.1", 1_000_000);
+            admission.release();
+        }
+        assertTrue(admission.tryAdmit("10.0.0.1").isEmpty());
+        assertTrue(admission.tryAdmit("10.0.0.1").isPresent());
+    }
+
+    @Test
+    void evictIdleClients_DropsOnlyFullUnusedBuckets() {
+        admissionProperties.setIdleTimeout(Duration.ZERO);
+        admissionProperties.getRequests().setPerSecond(0);
+        ImportAdmission admission = newAdmission();
+        admission.tryAdmit("10.0.0.1");
+        admission.tryAdmit("10.0.0.2");
+        admission.chargeDeals("10.0.0.1", 1_000);
+
+        admission.evictIdleClients();
+
+        // 10.0.0.1 still owes deals, forgetting it would reset its limit
+        assertEquals(1.0, registry.get("fxdeals.admission.clients").gauge().value());
+        assertTrue(admission.tryAdmit("10.0.0.1").isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ImportAdmission newAdmission() {
+        return new ImportAdmission(admissionProperties, mock(ObjectProvider.class), registry);
+    }
+}
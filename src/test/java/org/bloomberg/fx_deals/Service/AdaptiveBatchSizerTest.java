@@ -0,0 +1,95 @@
+package org.bloomberg.fx_deals.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long FAST = Duration.ofMillis(20).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private ImportProperties importProperties;
+    private SimpleMeterRegistry registry;
+    private AdaptiveBatchSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new ImportProperties();
+        importProperties.setBatchSize(500);
+        ImportProperties.AdaptiveBatch settings = importProperties.getAdaptiveBatch();
+        settings.setMinSize(100);
+        settings.setMaxSize(700);
+        settings.setTargetLatency(Duration.ofMillis(250));
+        settings.setIncreaseStep(50);
+        settings.setDecreaseFactor(0.5);
+        registry = new SimpleMeterRegistry();
+        sizer = new AdaptiveBatchSizer(importProperties, registry);
+    }
+
+    @Test
+    void fastFullChunks_GrowAdditivelyUpToMax() {
+        assertEquals(500, sizer.currentBatchSize());
+
+        sizer.recordCommit(500, FAST);
+        assertEquals(550, sizer.currentBatchSize());
+        for (int i = 0; i < 10; i++) {
+            sizer.recordCommit(sizer.currentBatchSize(), FAST);
+        }
+
+        assertEquals(700, sizer.currentBatchSize());
+    }
+
+    @Test
+    void shortLastChunk_DoesNotGrow() {
+        sizer.recordCommit(120, FAST);
+
+        assertEquals(500, sizer.currentBatchSize());
+    }
+
+    @Test
+    void slowCommit_ShrinksOnceThenRecoversFromFreshSamples() {
+        sizer.recordCommit(500, SLOW);
+        assertEquals(250, sizer.currentBatchSize());
+
+        // the slow sample was forgotten: the next fast one counts on its own
+        sizer.recordCommit(250, FAST);
+        assertEquals(300, sizer.currentBatchSize());
+    }
+
+    @Test
+    void failures_ShrinkMultiplicativelyDownToMin() {
+        sizer.recordFailure(500);
+        assertEquals(250, sizer.currentBatchSize());
+        sizer.recordFailure(250);
+        sizer.recordFailure(125);
+
+        assertEquals(100, sizer.currentBatchSize());
+        assertEquals(0.657, registry.get("fxdeals.import.adaptive.error.rate").gauge().value(), 0.001);
+    }
+
+    @Test
+    void gauges_PublishSizeAndSmoothedLatency() {
+        sizer.recordCommit(500, Duration.ofMillis(100).toNanos());
+        sizer.recordCommit(550, Duration.ofMillis(200).toNanos());
+
+        assertEquals(600, registry.get("fxdeals.import.adaptive.batch.size").gauge().value());
+        assertEquals(0.13, registry.get("fxdeals.import.adaptive.commit.latency").gauge().value(), 0.0001);
+    }
+
+    @Test
+    void disabled_UsesConfiguredBatchSizeAndIgnoresFeedback() {
+        importProperties.getAdaptiveBatch().setEnabled(false);
+        importProperties.setBatchSize(40);
+
+        sizer.recordFailure(40);
+        sizer.recordCommit(40, SLOW);
+
+        assertEquals(40, sizer.currentBatchSize());
+    }
+}
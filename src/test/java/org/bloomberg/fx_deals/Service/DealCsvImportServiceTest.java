@@ -0,0 +1,133 @@
+package org.bloomberg.fx_deals.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Exceptions.InvalidCsvException;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.CsvRowErrorDto;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealCsvImportServiceTest {
+
+    private static final String HEADER = "dealUniqueId,fromCurrencyIsoCode,toCurrencyIsoCode,dealTimestamp,dealAmountInOrderingCurrency\n";
+
+    @Mock
+    private DealService dealService;
+
+    private DealCsvImportService csvImportService;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setStreamChunkSize(2);
+        // a few lines per slice, so one small file is cut into many slices parsed concurrently
+        importProperties.getCsv().setSliceSize(DataSize.ofBytes(100));
+        importProperties.getCsv().setParseThreads(3);
+        ImportMetrics importMetrics = new ImportMetrics(new SimpleMeterRegistry());
+        DealDtoValidator validator = new DealDtoValidator();
+        csvImportService = new DealCsvImportService(validator,
+                new DealStreamImportService(new ObjectMapper(), validator, dealService, importProperties, importMetrics),
+                importMetrics, importProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        csvImportService.shutdown();
+    }
+
+    @Test
+    void importCsv_SavesRowsInFileOrderAcrossSlices() throws Exception {
+        List<String> saved = new ArrayList<>();
+        when(dealService.saveAll(any())).thenAnswer(invocation -> {
+            List<String> ids = ((List<DealDto>) invocation.getArgument(0)).stream().map(DealDto::getDealUniqueId).toList();
+            saved.addAll(ids);
+            return new ImportResultDto(ids, List.of());
+        });
+        StringBuilder csv = new StringBuilder(HEADER);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String id = String.format("DEAL%03d", i);
+            expected.add(id);
+            csv.append(line(id, "10.00"));
+        }
+
+        DealCsvImportService.CsvImport result = importCsv(csv.toString());
+
+        assertEquals(expected, saved);
+        assertEquals(expected, result.result().getSuccessfulDeals());
+        assertTrue(result.rowErrors().isEmpty());
+    }
+
+    @Test
+    void importCsv_InvalidRows_ReportedByFileLineNumber() throws Exception {
+        when(dealService.saveAll(any())).thenAnswer(invocation -> new ImportResultDto(
+                ((List<DealDto>) invocation.getArgument(0)).stream().map(DealDto::getDealUniqueId).toList(), List.of()));
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 20; i++) {
+            csv.append(line(String.format("DEAL%03d", i), "10.00"));
+        }
+        csv.append("DEAL100,USD,EUR,2025-08-04T02:36:07Z\n");   // line 22
+        csv.append("\n");                                        // line 23
+        csv.append(line("DEAL101", "-5"));                       // line 24
+        csv.append(line("", "10.00"));                           // line 25
+
+        DealCsvImportService.CsvImport result = importCsv(csv.toString());
+
+        assertEquals(20, result.result().getSuccessfulDeals().size());
+        assertEquals(List.of("DEAL100", "DEAL101", "#25"), result.result().getFailedDeals());
+        assertEquals(List.of(
+                new CsvRowErrorDto(22, "DEAL100", "Expected 5 fields but found 4"),
+                new CsvRowErrorDto(24, "DEAL101", "dealAmountInOrderingCurrency: Deal Amount must be greater than zero"),
+                new CsvRowErrorDto(25, null, "dealUniqueId: Deal Unique Id is required")), result.rowErrors());
+    }
+
+    @Test
+    void importCsv_MissingColumn_ThrowsWithoutSaving() throws Exception {
+        assertThrows(InvalidCsvException.class, () -> importCsv("dealUniqueId,dealTimestamp\nDEAL001,2025-08-04T02:36:07Z\n"));
+        assertThrows(InvalidCsvException.class, () -> importCsv(""));
+        verify(dealService, never()).saveAll(any());
+    }
+
+    @Test
+    void spool_HashesBodyAndCloseDeletesFile() throws Exception {
+        DealCsvImportService.SpooledCsv spooled = csvImportService.spool(
+                new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", spooled.sha256());
+        assertEquals("abc", Files.readString(spooled.file()));
+        spooled.close();
+        assertFalse(Files.exists(spooled.file()));
+    }
+
+    private DealCsvImportService.CsvImport importCsv(String csv) throws Exception {
+        try (DealCsvImportService.SpooledCsv spooled = csvImportService.spool(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+            return csvImportService.importCsv(spooled);
+        }
+    }
+
+    private static String line(String id, String amount) {
+        return id + ",USD,EUR,2025-08-04T02:36:07Z," + amount + "\n";
+    }
+}
@@ -0,0 +1,90 @@
+package org.bloomberg.fx_deals.Service;
+
+import org.bloomberg.fx_deals.Exceptions.InvalidCsvException;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealCsvParserTest {
+
+    private static final String HEADER = "dealUniqueId,fromCurrencyIsoCode,toCurrencyIsoCode,dealTimestamp,dealAmountInOrderingCurrency";
+
+    @Test
+    void parse_ReadsRowsWithLineNumbers() {
+        DealCsvParser.Slice slice = DealCsvParser.forHeader(HEADER).parse(bytes(
+                "DEAL001,USD,EUR,2025-08-04T02:36:07Z,1000.50\n" +
+                "DEAL002,GBP,JPY,2025-08-04T03:00:00Z,20\n"));
+
+        assertEquals(2, slice.lines());
+        assertTrue(slice.errors().isEmpty());
+        assertEquals(List.of(1, 2), slice.rows().stream().map(DealCsvParser.Row::line).toList());
+        DealDto deal = slice.rows().get(0).deal();
+        assertEquals("DEAL001", deal.getDealUniqueId());
+        assertEquals("USD", deal.getFromCurrencyIsoCode());
+        assertEquals("EUR", deal.getToCurrencyIsoCode());
+        assertEquals("2025-08-04T02:36:07Z", deal.getDealTimestamp());
+        assertEquals(new BigDecimal("1000.50"), deal.getDealAmountInOrderingCurrency());
+    }
+
+    @Test
+    void parse_ColumnsInHeaderOrderWithUnknownOnesIgnored() {
+        DealCsvParser parser = DealCsvParser.forHeader(
+                "\uFEFFDealAmountInOrderingCurrency,comment,dealTimestamp,toCurrencyIsoCode,fromCurrencyIsoCode,dealUniqueId");
+
+        DealDto deal = parser.parse(bytes("10.00,ignored,2025-08-04T02:36:07Z,EUR,USD,DEAL001")).rows().get(0).deal();
+
+        assertEquals("DEAL001", deal.getDealUniqueId());
+        assertEquals("USD", deal.getFromCurrencyIsoCode());
+        assertEquals(new BigDecimal("10.00"), deal.getDealAmountInOrderingCurrency());
+    }
+
+    @Test
+    void parse_QuotedFieldsCrlfAndBlankLines() {
+        DealCsvParser.Slice slice = DealCsvParser.forHeader(HEADER).parse(bytes(
+                "\"DEAL,\"\"001\"\"\",USD,EUR,2025-08-04T02:36:07Z,\"10.00\"\r\n" +
+                "\r\n" +
+                "DEAL002,USD,EUR,2025-08-04T02:36:07Z,\n"));
+
+        assertEquals(3, slice.lines());
+        assertEquals("DEAL,\"001\"", slice.rows().get(0).deal().getDealUniqueId());
+        assertEquals(new BigDecimal("10.00"), slice.rows().get(0).deal().getDealAmountInOrderingCurrency());
+        // an empty field is left for the validator to report as missing
+        assertEquals(3, slice.rows().get(1).line());
+        assertNull(slice.rows().get(1).deal().getDealAmountInOrderingCurrency());
+    }
+
+    @Test
+    void parse_MalformedLines_ReportedByLineWithoutStopping() {
+        DealCsvParser.Slice slice = DealCsvParser.forHeader(HEADER).parse(bytes(
+                "DEAL001,USD,EUR,2025-08-04T02:36:07Z\n" +
+                "DEAL002,USD,EUR,2025-08-04T02:36:07Z,abc\n" +
+                "\"DEAL003,USD,EUR,2025-08-04T02:36:07Z,10\n" +
+                "DEAL004,USD,EUR,2025-08-04T02:36:07Z,10,extra\n" +
+                "DEAL005,USD,EUR,2025-08-04T02:36:07Z,10"));
+
+        assertEquals(5, slice.lines());
+        assertEquals(List.of(5), slice.rows().stream().map(DealCsvParser.Row::line).toList());
+        assertEquals(List.of(
+                new DealCsvParser.RowError(1, "DEAL001", "Expected 5 fields but found 4"),
+                new DealCsvParser.RowError(2, "DEAL002", "dealAmountInOrderingCurrency is not a number"),
+                new DealCsvParser.RowError(3, null, "Unterminated quoted field"),
+                new DealCsvParser.RowError(4, "DEAL004", "Expected 5 fields but found more")), slice.errors());
+    }
+
+    @Test
+    void forHeader_MissingOrRepeatedColumn_Throws() {
+        assertThrows(InvalidCsvException.class, () -> DealCsvParser.forHeader(
+                "dealUniqueId,fromCurrencyIsoCode,toCurrencyIsoCode,dealTimestamp"));
+        assertThrows(InvalidCsvException.class, () -> DealCsvParser.forHeader(HEADER + ",dealUniqueId"));
+    }
+
+    private static ByteBuffer bytes(String csv) {
+        return ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package org.bloomberg.fx_deals.Service;
+
+import org.bloomberg.fx_deals.Config.DealPartitionProperties;
+import org.bloomberg.fx_deals.Repository.DealPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealPartitionMaintainerTest {
+
+    @Mock
+    private DealPartitionRepository dealPartitionRepository;
+
+    @Spy
+    private DealPartitionProperties properties = new DealPartitionProperties();
+
+    @InjectMocks
+    private DealPartitionMaintainer dealPartitionMaintainer;
+
+    @Test
+    void createUpcomingPartitions_CreatesCurrentAndNextMonthsThenSplitsDefaultPartition() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth backfilled = YearMonth.of(2019, 3);
+        when(dealPartitionRepository.findMonthsInDefaultPartition()).thenReturn(List.of(backfilled));
+
+        dealPartitionMaintainer.createUpcomingPartitions();
+
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            verify(dealPartitionRepository).createMonthlyPartition(current.plusMonths(i));
+        }
+        verify(dealPartitionRepository).createMonthlyPartition(backfilled);
+        verify(dealPartitionRepository, times(properties.getMonthsAhead() + 2)).createMonthlyPartition(any());
+    }
+
+    @Test
+    void createUpcomingPartitions_OneFailure_DoesNotStopTheOtherMonths() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        when(dealPartitionRepository.createMonthlyPartition(current))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        when(dealPartitionRepository.findMonthsInDefaultPartition()).thenReturn(List.of());
+
+        dealPartitionMaintainer.createUpcomingPartitions();
+
+        verify(dealPartitionRepository).createMonthlyPartition(current.plusMonths(properties.getMonthsAhead()));
+    }
+
+    @Test
+    void createUpcomingPartitions_Disabled_DoesNothing() {
+        properties.setEnabled(false);
+
+        dealPartitionMaintainer.createUpcomingPartitions();
+
+        verifyNoInteractions(dealPartitionRepository);
+    }
+}
@@ -0,0 +1,124 @@
+package org.bloomberg.fx_deals.Service;
+
+import org.bloomberg.fx_deals.Exceptions.InvalidDealQueryException;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.DealPageDto;
+import org.bloomberg.fx_deals.Model.DTO.DealSearchCriteria;
+import org.bloomberg.fx_deals.Repository.DealQueryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealQueryServiceTest {
+
+    @Mock
+    private DealQueryRepository dealQueryRepository;
+
+    @InjectMocks
+    private DealQueryService dealQueryService;
+
+    @Test
+    void search_FirstPage_UsesDefaultLimitAndFetchesOneExtraRow() {
+        DealSearchCriteria criteria = new DealSearchCriteria();
+        when(dealQueryRepository.findPage(criteria, null, null, DealQueryService.DEFAULT_LIMIT + 1))
+                .thenReturn(List.of(deal("DEAL001", "2025-08-04T14:30:00Z")));
+
+        DealPageDto page = dealQueryService.search(criteria, null, null);
+
+        assertEquals(1, page.getDeals().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_MoreRowsThanLimit_TrimsPageAndReturnsCursorOfLastDeal() {
+        DealSearchCriteria criteria = new DealSearchCriteria();
+        when(dealQueryRepository.findPage(criteria, null, null, 3)).thenReturn(List.of(
+                deal("DEAL001", "2025-08-04T14:30:00Z"),
+                deal("DEAL002", "2025-08-04T14:30:00.123456Z"),
+                deal("DEAL003", "2025-08-04T15:00:00Z")));
+
+        DealPageDto page = dealQueryService.search(criteria, 2, null);
+
+        assertEquals(List.of("DEAL001", "DEAL002"),
+                page.getDeals().stream().map(DealDto::getDealUniqueId).toList());
+        assertNotNull(page.getNextCursor());
+
+        when(dealQueryRepository.findPage(criteria, Instant.parse("2025-08-04T14:30:00.123456Z"), "DEAL002", 3))
+                .thenReturn(List.of(deal("DEAL003", "2025-08-04T15:00:00Z")));
+
+        DealPageDto next = dealQueryService.search(criteria, 2, page.getNextCursor());
+
+        assertEquals("DEAL003", next.getDeals().get(0).getDealUniqueId());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void cursor_RoundTripsTimestampAndId() {
+        Instant timestamp = Instant.parse("1969-12-31T23:59:59.999999999Z");
+
+        String cursor = DealQueryService.encodeCursor(timestamp, "DÉAL/42");
+        DealQueryService.Cursor decoded = DealQueryService.decodeCursor(cursor);
+
+        assertEquals(timestamp, decoded.timestamp());
+        assertEquals("DÉAL/42", decoded.dealUniqueId());
+        assertFalse(cursor.contains("/") || cursor.contains("+") || cursor.contains("="));
+    }
+
+    @Test
+    void search_NormalizesCurrencies() {
+        DealSearchCriteria criteria = DealSearchCriteria.builder().fromCurrency(" usd ").toCurrency("eur").build();
+        when(dealQueryRepository.findPage(any(), isNull(), isNull(), anyInt())).thenReturn(List.of());
+
+        dealQueryService.search(criteria, 10, null);
+
+        verify(dealQueryRepository).findPage(
+                eq(DealSearchCriteria.builder().fromCurrency("USD").toCurrency("EUR").build()),
+                isNull(), isNull(), eq(11));
+    }
+
+    @Test
+    void search_InvalidQueries_AreRejectedWithoutHittingTheDatabase() {
+        Instant now = Instant.parse("2025-08-04T00:00:00Z");
+
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealQueryService.search(new DealSearchCriteria(), 0, null));
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealQueryService.search(new DealSearchCriteria(), DealQueryService.MAX_LIMIT + 1, null));
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealQueryService.search(DealSearchCriteria.builder().from(now).to(now).build(), null, null));
+        assertThrows(InvalidDealQueryException.class, () -> dealQueryService.search(
+                DealSearchCriteria.builder().minAmount(BigDecimal.TEN).maxAmount(BigDecimal.ONE).build(), null, null));
+        assertThrows(InvalidDealQueryException.class, () -> dealQueryService.search(
+                DealSearchCriteria.builder().fromCurrency("US1").build(), null, null));
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealQueryService.search(new DealSearchCriteria(), null, "not*base64"));
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealQueryService.search(new DealSearchCriteria(), null, "AAAA"));
+
+        verifyNoInteractions(dealQueryRepository);
+    }
+
+    private static DealDto deal(String id, String timestamp) {
+        return DealDto.builder()
+                .dealUniqueId(id)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(timestamp)
+                .dealAmountInOrderingCurrency(new BigDecimal("1000.00"))
+                .build();
+    }
+}
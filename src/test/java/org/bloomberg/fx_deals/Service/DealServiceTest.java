@@ -1,37 +1,62 @@
 package org.bloomberg.fx_deals.Service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Corevalidation.DealIdFilter;
 import org.bloomberg.fx_deals.Mapper.DealMapper;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
 import org.bloomberg.fx_deals.Model.DTO.DealDto;
 import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
 import org.bloomberg.fx_deals.Model.Entity.Deal;
-import org.bloomberg.fx_deals.Repository.DealRepository;
+import org.bloomberg.fx_deals.Repository.DealBatchRepository;
+import org.bloomberg.fx_deals.Repository.DealCopyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DealServiceTest {
 
     @Mock
-    private DealRepository dealRepository;
+    private DealBatchRepository dealBatchRepository;
+
+    @Mock
+    private DealCopyRepository dealCopyRepository;
 
     @Mock
     private DealMapper dealMapper;
 
+    @Mock
+    private DealIdFilter dealIdFilter;
+
+    private final ImportProperties importProperties = new ImportProperties();
+
+    @Spy
+    private ImportMetrics importMetrics = new ImportMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private AdaptiveBatchSizer adaptiveBatchSizer = new AdaptiveBatchSizer(importProperties, new SimpleMeterRegistry());
+
     @InjectMocks
     private DealService dealService;
 
@@ -62,7 +87,7 @@ class DealServiceTest {
         // Given
         List<DealDto> dealDtos = Arrays.asList(validDealDto);
         when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
-        when(dealRepository.save(validDeal)).thenReturn(validDeal);
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(validDeal))).thenReturn(List.of("DEAL001"));
 
         // When
         ImportResultDto result = dealService.saveAll(dealDtos);
@@ -74,7 +99,7 @@ class DealServiceTest {
         assertEquals("DEAL001", result.getSuccessfulDeals().get(0));
 
         verify(dealMapper).toEntity(validDealDto);
-        verify(dealRepository).save(validDeal);
+        verify(dealBatchRepository).insertIgnoringDuplicates(List.of(validDeal));
     }
 
     @Test
@@ -100,8 +125,8 @@ class DealServiceTest {
 
         when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
         when(dealMapper.toEntity(dealDto2)).thenReturn(deal2);
-        when(dealRepository.save(validDeal)).thenReturn(validDeal);
-        when(dealRepository.save(deal2)).thenReturn(deal2);
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(validDeal, deal2)))
+                .thenReturn(List.of("DEAL001", "DEAL002"));
 
         // When
         ImportResultDto result = dealService.saveAll(dealDtos);
@@ -115,8 +140,7 @@ class DealServiceTest {
 
         verify(dealMapper).toEntity(validDealDto);
         verify(dealMapper).toEntity(dealDto2);
-        verify(dealRepository).save(validDeal);
-        verify(dealRepository).save(deal2);
+        verify(dealBatchRepository, times(1)).insertIgnoringDuplicates(any());
     }
 
     @Test
@@ -142,8 +166,11 @@ class DealServiceTest {
 
         when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
         when(dealMapper.toEntity(dealDto2)).thenReturn(deal2);
-        when(dealRepository.save(validDeal)).thenReturn(validDeal);
-        when(dealRepository.save(deal2)).thenThrow(new DataIntegrityViolationException("Database error"));
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(validDeal, deal2)))
+                .thenThrow(new DataIntegrityViolationException("Database error"));
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(validDeal))).thenReturn(List.of("DEAL001"));
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(deal2)))
+                .thenThrow(new DataIntegrityViolationException("Database error"));
 
         // When
         ImportResultDto result = dealService.saveAll(dealDtos);
@@ -157,8 +184,12 @@ class DealServiceTest {
 
         verify(dealMapper).toEntity(validDealDto);
         verify(dealMapper).toEntity(dealDto2);
-        verify(dealRepository).save(validDeal);
-        verify(dealRepository).save(deal2);
+        verify(dealBatchRepository).insertIgnoringDuplicates(List.of(validDeal, deal2));
+        verify(dealBatchRepository).insertIgnoringDuplicates(List.of(validDeal));
+        verify(dealBatchRepository).insertIgnoringDuplicates(List.of(deal2));
+        // only the chunk the sizer cut is fed back, not the halves of its bisection
+        verify(adaptiveBatchSizer).recordFailure(2);
+        verify(adaptiveBatchSizer, never()).recordCommit(anyInt(), anyLong());
     }
 
     @Test
@@ -172,7 +203,7 @@ class DealServiceTest {
         assertEquals(0, result.getFailedDeals().size());
 
         verify(dealMapper, never()).toEntity(any());
-        verify(dealRepository, never()).save(any());
+        verify(dealBatchRepository, never()).insertIgnoringDuplicates(any());
     }
 
     @Test
@@ -189,7 +220,7 @@ class DealServiceTest {
         assertEquals(0, result.getFailedDeals().size());
 
         verify(dealMapper, never()).toEntity(any());
-        verify(dealRepository, never()).save(any());
+        verify(dealBatchRepository, never()).insertIgnoringDuplicates(any());
     }
 
     @Test
@@ -197,7 +228,7 @@ class DealServiceTest {
         // Given
         List<DealDto> dealDtos = Arrays.asList(validDealDto);
         when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
-        when(dealRepository.save(validDeal)).thenThrow(new RuntimeException("Database error"));
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(validDeal))).thenThrow(new RuntimeException("Database error"));
 
         // When
         ImportResultDto result = dealService.saveAll(dealDtos);
@@ -209,7 +240,7 @@ class DealServiceTest {
         assertEquals("DEAL001", result.getFailedDeals().get(0));
 
         verify(dealMapper).toEntity(validDealDto);
-        verify(dealRepository).save(validDeal);
+        verify(dealBatchRepository).insertIgnoringDuplicates(List.of(validDeal));
     }
 
     @Test
@@ -224,7 +255,102 @@ class DealServiceTest {
         assertEquals(1, result.getFailedDeals().size()); // was 0, now 1 ✅
 
         verify(dealMapper).toEntity(validDealDto);
-        verify(dealRepository, never()).save(any());
+        verify(dealBatchRepository, never()).insertIgnoringDuplicates(any());
+    }
+
+    @Test
+    void saveAll_ConflictAtInsert_ReportedAsDuplicate() {
+        List<DealDto> dealDtos = Arrays.asList(validDealDto);
+        when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
+        when(dealBatchRepository.insertIgnoringDuplicates(List.of(validDeal))).thenReturn(List.of());
+
+        ImportResultDto result = dealService.saveAll(dealDtos);
+
+        assertTrue(result.getSuccessfulDeals().isEmpty());
+        assertTrue(result.getFailedDeals().isEmpty());
+        assertEquals(List.of("DEAL001"), result.getDuplicateDeals());
+    }
+
+    @Test
+    void saveAll_AdaptiveBatchDisabled_SplitsIntoChunksOfConfiguredBatchSize() {
+        importProperties.setBatchSize(2);
+        importProperties.getAdaptiveBatch().setEnabled(false);
+        List<DealDto> dealDtos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DealDto dto = DealDto.builder().dealUniqueId("DEAL" + i).build();
+            dealDtos.add(dto);
+            when(dealMapper.toEntity(dto)).thenReturn(Deal.builder().dealUniqueId("DEAL" + i).build());
+        }
+        when(dealBatchRepository.insertIgnoringDuplicates(any())).thenAnswer(invocation -> {
+            List<Deal> chunk = invocation.getArgument(0);
+            return chunk.stream().map(Deal::getDealUniqueId).toList();
+        });
+
+        ImportResultDto result = dealService.saveAll(dealDtos);
+
+        assertEquals(List.of("DEAL0", "DEAL1", "DEAL2", "DEAL3", "DEAL4"), result.getSuccessfulDeals());
+        verify(dealBatchRepository, times(3)).insertIgnoringDuplicates(any());
+        verify(dealIdFilter, times(3)).recordInserted(any());
+    }
+
+    @Test
+    void saveAll_ReadsChunkSizeFromSizerBeforeEveryChunk() {
+        List<DealDto> dealDtos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            DealDto dto = DealDto.builder().dealUniqueId("DEAL" + i).build();
+            dealDtos.add(dto);
+            when(dealMapper.toEntity(dto)).thenReturn(Deal.builder().dealUniqueId("DEAL" + i).build());
+        }
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(dealBatchRepository.insertIgnoringDuplicates(any())).thenAnswer(invocation -> {
+            List<Deal> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk.stream().map(Deal::getDealUniqueId).toList();
+        });
+        doReturn(1, 3, 5).when(adaptiveBatchSizer).currentBatchSize();
+
+        ImportResultDto result = dealService.saveAll(dealDtos);
+
+        assertEquals(6, result.getSuccessfulDeals().size());
+        assertEquals(List.of(1, 3, 2), chunkSizes);
+        verify(adaptiveBatchSizer).recordCommit(eq(1), anyLong());
+        verify(adaptiveBatchSizer).recordCommit(eq(3), anyLong());
+        verify(adaptiveBatchSizer).recordCommit(eq(2), anyLong());
+    }
+
+    @Test
+    void bulkImport_SplitsMergeResultIntoSuccessAndDuplicates() {
+        DealDto dealDto2 = DealDto.builder().dealUniqueId("DEAL002").build();
+        Deal deal2 = Deal.builder()
+                .dealUniqueId("DEAL002")
+                .dealTimestamp(Instant.ofEpochMilli(2000L))
+                .dealAmountInOrderingCurrency(new BigDecimal("2000.00"))
+                .build();
+        // DEAL001 appears twice in the payload, DEAL002 is already stored
+        List<DealDto> dealDtos = Arrays.asList(validDealDto, dealDto2, validDealDto);
+        when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
+        when(dealMapper.toEntity(dealDto2)).thenReturn(deal2);
+        when(dealCopyRepository.copyAndMerge(List.of(validDeal, deal2, validDeal))).thenReturn(Set.of("DEAL001"));
+
+        ImportResultDto result = dealService.bulkImport(dealDtos);
+
+        assertEquals(List.of("DEAL001"), result.getSuccessfulDeals());
+        assertTrue(result.getFailedDeals().isEmpty());
+        assertEquals(List.of("DEAL002", "DEAL001"), result.getDuplicateDeals());
+        verify(dealBatchRepository, never()).insertIgnoringDuplicates(any());
+    }
+
+    @Test
+    void bulkImport_MergeFails_AllDealsFailed() {
+        List<DealDto> dealDtos = Arrays.asList(validDealDto);
+        when(dealMapper.toEntity(validDealDto)).thenReturn(validDeal);
+        when(dealCopyRepository.copyAndMerge(any())).thenThrow(new DataIntegrityViolationException("Database error"));
+
+        ImportResultDto result = dealService.bulkImport(dealDtos);
+
+        assertTrue(result.getSuccessfulDeals().isEmpty());
+        assertEquals(List.of("DEAL001"), result.getFailedDeals());
+        assertTrue(result.getDuplicateDeals().isEmpty());
     }
 
 } 
\ No newline at end of file
@@ -0,0 +1,148 @@
+package org.bloomberg.fx_deals.Service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.bloomberg.fx_deals.Config.BinaryFormatsConfig;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Corevalidation.DealDtoValidator;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealStreamImportServiceTest {
+
+    @Mock
+    private DealService dealService;
+
+    private DealStreamImportService streamImportService;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setStreamChunkSize(2);
+        streamImportService = new DealStreamImportService(new ObjectMapper(), new DealDtoValidator(), dealService, importProperties,
+                new ImportMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void importStream_SavesInChunksAndAggregatesResults() throws Exception {
+        when(dealService.saveAll(any())).thenAnswer(invocation -> {
+            List<DealDto> chunk = invocation.getArgument(0);
+            // pretend DEAL002 already exists, as the duplicate-check AOP would report it
+            List<String> ids = chunk.stream().map(DealDto::getDealUniqueId).toList();
+            return new ImportResultDto(ids.stream().filter(id -> !id.equals("DEAL002")).toList(), List.of(),
+                    ids.stream().filter("DEAL002"::equals).toList());
+        });
+
+        ImportResultDto result = streamImportService.importStream(json(
+                deal("DEAL001", "1000.00") + "," + deal("DEAL002", "2000.00") + "," + deal("DEAL003", "3000.00")));
+
+        assertEquals(List.of("DEAL001", "DEAL003"), result.getSuccessfulDeals());
+        assertTrue(result.getFailedDeals().isEmpty());
+        assertEquals(List.of("DEAL002"), result.getDuplicateDeals());
+        verify(dealService, times(2)).saveAll(any());
+    }
+
+    @Test
+    void importStream_InvalidDeal_ReportedAsFailedWithoutRejectingOthers() throws Exception {
+        when(dealService.saveAll(any())).thenReturn(new ImportResultDto(List.of("DEAL001"), List.of()));
+
+        ImportResultDto result = streamImportService.importStream(json(
+                deal("DEAL001", "1000.00") + "," + deal("DEAL002", "-5") + "," + deal("", "10.00")));
+
+        assertEquals(List.of("DEAL001"), result.getSuccessfulDeals());
+        assertEquals(List.of("DEAL002", "#2"), result.getFailedDeals());
+        verify(dealService, times(1)).saveAll(argThat(chunk -> chunk.size() == 1));
+    }
+
+    @Test
+    void importStream_SmileBody_ReadLikeJson() throws Exception {
+        when(dealService.saveAll(any())).thenAnswer(invocation -> new ImportResultDto(
+                ((List<DealDto>) invocation.getArgument(0)).stream().map(DealDto::getDealUniqueId).toList(), List.of()));
+        DealDto valid = DealDto.builder()
+                .dealUniqueId("DEAL001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp("2025-08-04T02:36:07Z")
+                .dealAmountInOrderingCurrency(new BigDecimal("1000.50"))
+                .build();
+        DealDto invalid = DealDto.builder()
+                .dealUniqueId("DEAL002")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp("2025-08-04T02:36:07Z")
+                .dealAmountInOrderingCurrency(new BigDecimal("-5"))
+                .build();
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(List.of(valid, invalid));
+
+        ImportResultDto result = streamImportService.importStream(new ByteArrayInputStream(smile),
+                BinaryFormatsConfig.APPLICATION_SMILE);
+
+        assertEquals(List.of("DEAL001"), result.getSuccessfulDeals());
+        assertEquals(List.of("DEAL002"), result.getFailedDeals());
+        verify(dealService).saveAll(List.of(valid));
+    }
+
+    @Test
+    void importStream_NotAnArray_ThrowsParseException() {
+        assertThrows(JsonParseException.class, () -> streamImportService.importStream(
+                new ByteArrayInputStream(deal("DEAL001", "1000.00").getBytes(StandardCharsets.UTF_8))));
+        verify(dealService, never()).saveAll(any());
+    }
+
+    @Test
+    void importStream_EmptyArray_SavesNothing() throws Exception {
+        ImportResultDto result = streamImportService.importStream(json(""));
+
+        assertTrue(result.getSuccessfulDeals().isEmpty());
+        assertTrue(result.getFailedDeals().isEmpty());
+        assertTrue(result.getDuplicateDeals().isEmpty());
+        verify(dealService, never()).saveAll(any());
+    }
+
+    @Test
+    void importInChunks_ReportsEachChunkToListener() throws Exception {
+        when(dealService.saveAll(any())).thenAnswer(invocation -> {
+            List<DealDto> chunk = invocation.getArgument(0);
+            return new ImportResultDto(chunk.stream().map(DealDto::getDealUniqueId).toList(), List.of());
+        });
+        List<DealDto> dealDtos = List.of(
+                DealDto.builder().dealUniqueId("DEAL001").build(),
+                DealDto.builder().dealUniqueId("DEAL002").build(),
+                DealDto.builder().dealUniqueId("DEAL003").build());
+        List<List<String>> reported = new ArrayList<>();
+
+        streamImportService.importInChunks(dealDtos, (success, failed, duplicates) -> reported.add(success));
+
+        assertEquals(List.of(List.of("DEAL001", "DEAL002"), List.of("DEAL003")), reported);
+    }
+
+    private static InputStream json(String deals) {
+        return new ByteArrayInputStream(("[" + deals + "]").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String deal(String id, String amount) {
+        return "{\"dealUniqueId\":\"" + id + "\",\"fromCurrencyIsoCode\":\"USD\",\"toCurrencyIsoCode\":\"EUR\","
+                + "\"dealTimestamp\":\"2025-08-04T01:00:00Z\",\"dealAmountInOrderingCurrency\":" + amount + "}";
+    }
+}
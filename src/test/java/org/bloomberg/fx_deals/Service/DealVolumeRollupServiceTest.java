@@ -0,0 +1,66 @@
+package org.bloomberg.fx_deals.Service;
+
+import org.bloomberg.fx_deals.Exceptions.InvalidDealQueryException;
+import org.bloomberg.fx_deals.Model.DTO.DealVolumeRollupDto;
+import org.bloomberg.fx_deals.Model.Entity.DealVolumeRollup.Granularity;
+import org.bloomberg.fx_deals.Repository.DealVolumeRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealVolumeRollupServiceTest {
+
+    private static final Instant FROM = Instant.parse("2025-08-04T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-08-05T00:00:00Z");
+
+    @Mock
+    private DealVolumeRollupRepository dealVolumeRollupRepository;
+
+    @InjectMocks
+    private DealVolumeRollupService dealVolumeRollupService;
+
+    @Test
+    void findBuckets_NormalizesCurrenciesAndReturnsBuckets() {
+        DealVolumeRollupDto bucket = new DealVolumeRollupDto(FROM, "USD", "EUR", 3, new BigDecimal("300.00"));
+        when(dealVolumeRollupRepository.findBuckets(Granularity.HOUR, FROM, TO, "USD", "EUR",
+                DealVolumeRollupService.MAX_BUCKETS + 1)).thenReturn(List.of(bucket));
+
+        List<DealVolumeRollupDto> buckets = dealVolumeRollupService.findBuckets(Granularity.HOUR, FROM, TO, "usd", "EUR");
+
+        assertEquals(List.of(bucket), buckets);
+    }
+
+    @Test
+    void findBuckets_TooManyBuckets_IsRejected() {
+        DealVolumeRollupDto bucket = new DealVolumeRollupDto(FROM, "USD", "EUR", 1, BigDecimal.ONE);
+        when(dealVolumeRollupRepository.findBuckets(Granularity.MINUTE, FROM, TO, null, null,
+                DealVolumeRollupService.MAX_BUCKETS + 1))
+                .thenReturn(Collections.nCopies(DealVolumeRollupService.MAX_BUCKETS + 1, bucket));
+
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealVolumeRollupService.findBuckets(Granularity.MINUTE, FROM, TO, null, null));
+    }
+
+    @Test
+    void findBuckets_InvalidQueries_AreRejectedWithoutHittingTheDatabase() {
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealVolumeRollupService.findBuckets(Granularity.DAY, TO, FROM, null, null));
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealVolumeRollupService.findBuckets(Granularity.DAY, FROM, FROM, null, null));
+        assertThrows(InvalidDealQueryException.class,
+                () -> dealVolumeRollupService.findBuckets(Granularity.DAY, FROM, TO, "EURO", null));
+
+        verifyNoInteractions(dealVolumeRollupRepository);
+    }
+}
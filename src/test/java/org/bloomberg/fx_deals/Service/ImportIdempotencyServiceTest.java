@@ -0,0 +1,170 @@
+package org.bloomberg.fx_deals.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Exceptions.IdempotencyConflictException;
+import org.bloomberg.fx_deals.Repository.ImportIdempotencyRepository;
+import org.bloomberg.fx_deals.Repository.ImportIdempotencyRepository.StoredRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportIdempotencyServiceTest {
+
+    private static final String BODY_HASH = "a".repeat(64);
+    private static final String VARIANT = "mode=json&partial=false&summary=false";
+    // what is stored: the body hash mixed with the variant
+    private static final String HASH = ImportIdempotencyService.sha256(VARIANT + "\n" + BODY_HASH);
+    private static final String PAYLOAD_KEY = "payload:" + HASH;
+    private static final Map<String, Object> RESPONSE = Map.of("successfulDeals", List.of("DEAL001"));
+
+    @Mock
+    private ImportIdempotencyRepository importIdempotencyRepository;
+
+    private final ImportProperties importProperties = new ImportProperties();
+    private final AtomicInteger imports = new AtomicInteger();
+    private final Supplier<Map<String, Object>> importer = () -> {
+        imports.incrementAndGet();
+        return RESPONSE;
+    };
+
+    private ImportIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImportIdempotencyService(importIdempotencyRepository, new ObjectMapper(), importProperties);
+    }
+
+    @Test
+    void execute_FirstRequest_ImportsAndStoresResponse() {
+        when(importIdempotencyRepository.claim(eq(PAYLOAD_KEY), eq(HASH), any())).thenReturn(true);
+
+        ImportIdempotencyService.ImportResponse response = service.execute(null, BODY_HASH, VARIANT, importer);
+
+        assertEquals(RESPONSE, response.body());
+        assertFalse(response.replayed());
+        assertEquals(1, imports.get());
+        verify(importIdempotencyRepository).complete(PAYLOAD_KEY, "{\"successfulDeals\":[\"DEAL001\"]}",
+                importProperties.getIdempotency().getTtl());
+    }
+
+    @Test
+    void execute_CompletedRequest_ReplaysWithoutImporting() {
+        when(importIdempotencyRepository.claim(anyString(), eq(HASH), any())).thenReturn(false);
+        when(importIdempotencyRepository.find(anyString())).thenReturn(
+                Optional.of(new StoredRequest(HASH, true, "{\"successfulDeals\":[\"DEAL001\"]}")));
+
+        ImportIdempotencyService.ImportResponse response = service.execute("client-key", BODY_HASH, VARIANT, importer);
+
+        assertEquals(RESPONSE, response.body());
+        assertTrue(response.replayed());
+        assertEquals(0, imports.get());
+        verify(importIdempotencyRepository).claim(eq("client:" + ImportIdempotencyService.sha256("client-key")),
+                eq(HASH), any());
+    }
+
+    @Test
+    void execute_ClientKeyReusedForOtherPayload_IsRejected() {
+        when(importIdempotencyRepository.claim(anyString(), eq(HASH), any())).thenReturn(false);
+        when(importIdempotencyRepository.find(anyString())).thenReturn(
+                Optional.of(new StoredRequest("b".repeat(64), true, "{}")));
+
+        IdempotencyConflictException e = assertThrows(IdempotencyConflictException.class,
+                () -> service.execute("client-key", BODY_HASH, VARIANT, importer));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+        assertEquals(0, imports.get());
+    }
+
+    @Test
+    void execute_ConcurrentRequest_WaitsForTheFirstOne() {
+        when(importIdempotencyRepository.claim(eq(PAYLOAD_KEY), eq(HASH), any())).thenReturn(false);
+        when(importIdempotencyRepository.find(PAYLOAD_KEY)).thenReturn(
+                Optional.of(new StoredRequest(HASH, false, null)),
+                Optional.of(new StoredRequest(HASH, false, null)),
+                Optional.of(new StoredRequest(HASH, true, "{\"successfulDeals\":[\"DEAL001\"]}")));
+
+        ImportIdempotencyService.ImportResponse response = service.execute(null, BODY_HASH, VARIANT, importer);
+
+        assertTrue(response.replayed());
+        assertEquals(0, imports.get());
+        verify(importIdempotencyRepository, times(3)).find(PAYLOAD_KEY);
+    }
+
+    @Test
+    void execute_FirstRequestNeverFinishes_GivesUpWithConflict() {
+        importProperties.getIdempotency().setWaitTimeout(Duration.ofMillis(200));
+        when(importIdempotencyRepository.claim(eq(PAYLOAD_KEY), eq(HASH), any())).thenReturn(false);
+        when(importIdempotencyRepository.find(PAYLOAD_KEY)).thenReturn(Optional.of(new StoredRequest(HASH, false, null)));
+
+        IdempotencyConflictException e = assertThrows(IdempotencyConflictException.class,
+                () -> service.execute(null, BODY_HASH, VARIANT, importer));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+
+    @Test
+    void execute_FailedImport_ReleasesTheKey() {
+        when(importIdempotencyRepository.claim(eq(PAYLOAD_KEY), eq(HASH), any())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> service.execute(null, BODY_HASH, VARIANT, () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        verify(importIdempotencyRepository).release(PAYLOAD_KEY);
+        verify(importIdempotencyRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void execute_NoKeyAvailable_ImportsDirectly() {
+        importProperties.getIdempotency().setHashPayloads(false);
+
+        ImportIdempotencyService.ImportResponse response = service.execute(null, BODY_HASH, VARIANT, importer);
+
+        assertFalse(response.replayed());
+        assertEquals(1, imports.get());
+        verifyNoInteractions(importIdempotencyRepository);
+    }
+
+    @Test
+    void execute_SameBodyOtherVariant_KeyedApartAndImported() {
+        String summaryVariant = "mode=json&partial=false&summary=true";
+        String summaryHash = ImportIdempotencyService.sha256(summaryVariant + "\n" + BODY_HASH);
+        when(importIdempotencyRepository.claim(eq("payload:" + summaryHash), eq(summaryHash), any())).thenReturn(true);
+
+        ImportIdempotencyService.ImportResponse response = service.execute(null, BODY_HASH, summaryVariant, importer);
+
+        assertFalse(response.replayed());
+        assertEquals(1, imports.get());
+        verify(importIdempotencyRepository, never()).claim(eq(PAYLOAD_KEY), any(), any());
+    }
+
+    @Test
+    void execute_ClientKeyReusedWithOtherFlags_IsRejected() {
+        when(importIdempotencyRepository.claim(anyString(), anyString(), any())).thenReturn(false);
+        when(importIdempotencyRepository.find(anyString())).thenReturn(Optional.of(new StoredRequest(HASH, true, "{}")));
+
+        IdempotencyConflictException e = assertThrows(IdempotencyConflictException.class,
+                () -> service.execute("client-key", BODY_HASH, "mode=bulk&partial=false&summary=false", importer));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+        assertEquals(0, imports.get());
+    }
+}
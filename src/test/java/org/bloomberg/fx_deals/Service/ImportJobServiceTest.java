@@ -0,0 +1,163 @@
+package org.bloomberg.fx_deals.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bloomberg.fx_deals.Config.ImportProperties;
+import org.bloomberg.fx_deals.Exceptions.ImportQueueFullException;
+import org.bloomberg.fx_deals.Metrics.ImportMetrics;
+import org.bloomberg.fx_deals.Model.DTO.DealDto;
+import org.bloomberg.fx_deals.Model.DTO.ImportJobDto;
+import org.bloomberg.fx_deals.Security.ImportAdmission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private DealStreamImportService dealStreamImportService;
+
+    @Mock
+    private ImportAdmission importAdmission;
+
+    private ImportJobService importJobService;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.getJobs().setWorkers(1);
+        importProperties.getJobs().setQueueCapacity(1);
+        importProperties.getJobs().setMaxQueuedDeals(3);
+        importJobService = new ImportJobService(dealStreamImportService, new ImportMetrics(new SimpleMeterRegistry()),
+                importAdmission, importProperties, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobService.shutdown();
+    }
+
+    @Test
+    void submit_ReturnsQueuedJobAndCompletesWithResult() throws Exception {
+        doAnswer(invocation -> {
+            ImportChunkListener listener = invocation.getArgument(1);
+            listener.onChunk(List.of("DEAL001"), List.of(), List.of("DEAL002"));
+            return null;
+        }).when(dealStreamImportService).importInChunks(any(), any());
+
+        ImportJobDto submitted = importJobService.submit(deals("DEAL001", "DEAL002"));
+
+        assertNotNull(submitted.getJobId());
+        assertEquals(2, submitted.getTotalDeals());
+        ImportJobDto finished = awaitFinished(submitted.getJobId());
+        assertEquals(ImportJobDto.Status.COMPLETED, finished.getStatus());
+        assertEquals(2, finished.getProcessedDeals());
+        assertEquals(1, finished.getSuccessCount());
+        assertEquals(1, finished.getDuplicateCount());
+        assertEquals(List.of("DEAL001"), finished.getResult().getSuccessfulDeals());
+        assertEquals(List.of("DEAL002"), finished.getResult().getDuplicateDeals());
+    }
+
+    @Test
+    void submit_WorkerHoldsAdmissionSlotAroundImport() throws Exception {
+        awaitFinished(importJobService.submit(deals("DEAL001")).getJobId());
+
+        InOrder inOrder = inOrder(importAdmission, dealStreamImportService);
+        inOrder.verify(importAdmission).acquire();
+        inOrder.verify(dealStreamImportService).importInChunks(any(), any());
+        inOrder.verify(importAdmission).release();
+    }
+
+    @Test
+    void submit_ImportThrows_JobFailed() throws Exception {
+        doThrow(new IllegalStateException("boom")).when(dealStreamImportService).importInChunks(any(), any());
+
+        ImportJobDto finished = awaitFinished(importJobService.submit(deals("DEAL001")).getJobId());
+
+        assertEquals(ImportJobDto.Status.FAILED, finished.getStatus());
+        assertEquals("boom", finished.getError());
+        assertNull(finished.getResult());
+    }
+
+    @Test
+    void submit_QueueFull_RejectsJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(dealStreamImportService).importInChunks(any(), any());
+
+        importJobService.submit(deals("DEAL001")); // running
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        importJobService.submit(deals("DEAL002")); // queued
+
+        assertThrows(ImportQueueFullException.class, () -> importJobService.submit(deals("DEAL003")));
+        release.countDown();
+    }
+
+    @Test
+    void submit_DealQueueFull_RejectsJobUntilDealsAreReleased() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(dealStreamImportService).importInChunks(any(), any());
+
+        String running = importJobService.submit(deals("DEAL001", "DEAL002")).getJobId();
+
+        ImportQueueFullException rejected = assertThrows(ImportQueueFullException.class,
+                () -> importJobService.submit(deals("DEAL003", "DEAL004")));
+        assertTrue(rejected.getMessage().contains("2 of 3 deals"));
+        release.countDown();
+        awaitFinished(running);
+        assertNotNull(importJobService.submit(deals("DEAL003", "DEAL004")).getJobId());
+    }
+
+    @Test
+    void submit_JobLargerThanDealLimit_RunsWhenNothingElseQueued() throws Exception {
+        ImportJobDto finished = awaitFinished(
+                importJobService.submit(deals("DEAL001", "DEAL002", "DEAL003", "DEAL004")).getJobId());
+
+        assertEquals(ImportJobDto.Status.COMPLETED, finished.getStatus());
+    }
+
+    @Test
+    void find_UnknownJob_ReturnsEmpty() {
+        assertTrue(importJobService.find("missing").isEmpty());
+    }
+
+    private ImportJobDto awaitFinished(String jobId) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        while (Instant.now().isBefore(deadline)) {
+            ImportJobDto job = importJobService.find(jobId).orElseThrow();
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Job " + jobId + " did not finish in time");
+    }
+
+    private static List<DealDto> deals(String... ids) {
+        return Arrays.stream(ids).map(id -> DealDto.builder().dealUniqueId(id).build()).toList();
+    }
+}